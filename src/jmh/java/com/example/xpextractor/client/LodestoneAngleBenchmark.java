@@ -0,0 +1,126 @@
+package com.example.xpextractor.client;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.client.item.ModelPredicateProvider;
+import net.minecraft.client.item.ModelPredicateProviderRegistry;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.LodestoneTrackerComponent;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.world.Difficulty;
+import net.minecraft.world.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// One invocation is one rendered frame with `holders` lodestone-bound extractors in view, each
+// with its own stack and entity, so both predicates do their real component and per-holder lookups
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LodestoneAngleBenchmark {
+    @Param({"1", "16", "64"})
+    public int holders;
+
+    private ClientWorld.Properties properties;
+    private ClientWorld world;
+    private ItemStack[] stacks;
+    private ArmorStandEntity[] entities;
+    private LodestoneAnglePredicate predicate;
+    private ModelPredicateProvider legacy;
+    private long frame;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        properties = new ClientWorld.Properties(Difficulty.NORMAL, false, false);
+        world = allocateWorld(properties);
+
+        stacks = new ItemStack[holders];
+        entities = new ArmorStandEntity[holders];
+        for (int i = 0; i < holders; i++) {
+            ItemStack stack = new ItemStack(Items.COMPASS);
+            GlobalPos target = GlobalPos.create(World.OVERWORLD, new BlockPos(100 - i * 7, 64, -40 + i * 3));
+            stack.set(DataComponentTypes.LODESTONE_TRACKER, new LodestoneTrackerComponent(Optional.of(target), true));
+            stacks[i] = stack;
+
+            ArmorStandEntity entity = new ArmorStandEntity(EntityType.ARMOR_STAND, world);
+            entity.setPosition(i * 1.5, 64.0, i * -2.25);
+            entity.setBodyYaw(i * 23.0f);
+            entities[i] = entity;
+        }
+
+        predicate = new LodestoneAnglePredicate();
+        // The delegate the extractor registered before LodestoneAnglePredicate replaced it
+        legacy = (stack, world, entity, seed) -> ModelPredicateProviderRegistry.get(
+            new ItemStack(Items.COMPASS),
+            Identifier.of("minecraft", "angle")
+        ).call(stack, world, entity, seed);
+    }
+
+    @Benchmark
+    public void predicateFrame(Blackhole blackhole) {
+        advanceFrame();
+        for (int i = 0; i < holders; i++) {
+            blackhole.consume(predicate.unclampedCall(stacks[i], world, entities[i], i));
+        }
+    }
+
+    @Benchmark
+    public void legacyDelegateFrame(Blackhole blackhole) {
+        advanceFrame();
+        for (int i = 0; i < holders; i++) {
+            blackhole.consume(legacy.call(stacks[i], world, entities[i], i));
+        }
+    }
+
+    // Three frames per game tick, so the interpolators update on every third call like at 60 fps
+    private void advanceFrame() {
+        properties.setTime(frame++ / 3);
+    }
+
+    // A real ClientWorld needs a connected client. Both predicates only read the time and dimension
+    // key from it, so an instance with just those two fields set behaves the same for them.
+    private static ClientWorld allocateWorld(ClientWorld.Properties properties) throws ReflectiveOperationException {
+        Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+        unsafeField.setAccessible(true);
+        Unsafe unsafe = (Unsafe) unsafeField.get(null);
+
+        ClientWorld world = (ClientWorld) unsafe.allocateInstance(ClientWorld.class);
+        setWorldField(world, "properties", properties);
+        setWorldField(world, "registryKey", World.OVERWORLD);
+        return world;
+    }
+
+    private static void setWorldField(ClientWorld world, String name, Object value) throws ReflectiveOperationException {
+        Field field = World.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(world, value);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.xpextractor.effect;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractionEffectsBenchmark {
+    @Param({"1", "4", "16"})
+    public int extractionCount;
+
+    @Param({"0", "2"})
+    public int detail;
+
+    public int particlesPerExtraction = 10;
+
+    private Random random;
+    private CompiledEffects effects;
+    private final BlackholeSink sink = new BlackholeSink();
+
+    @Setup
+    public void setup() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+
+        this.random = Random.create(42L);
+        this.effects = EffectPresets.defaults().compile();
+    }
+
+    @Benchmark
+    public void emitExtraction(Blackhole blackhole) {
+        sink.blackhole = blackhole;
+        effects.emitExtraction(
+            sink,
+            random,
+            0.5, 64.0, 0.5,
+            0.5, 65.42, 0.8,
+            extractionCount,
+            particlesPerExtraction,
+            detail
+        );
+    }
+
+    @Benchmark
+    public void emitFailure(Blackhole blackhole) {
+        sink.blackhole = blackhole;
+        effects.emitFailure(sink, 0.5, 65.42, 0.8);
+    }
+
+    @Benchmark
+    public CompiledEffects compilePresets() {
+        return EffectPresets.defaults().compile();
+    }
+
+    private static final class BlackholeSink implements ExtractionEffects.Sink {
+        private Blackhole blackhole;
+
+        @Override
+        public void spawn(ParticleEffect effect, double x, double y, double z, int count, double deltaX, double deltaY, double deltaZ, double speed) {
+            blackhole.consume(effect);
+            blackhole.consume(x + y + z);
+            blackhole.consume(count);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.xpextractor.item;
+
+import com.example.xpextractor.config.ModConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigAccessBenchmark {
+    @Setup
+    public void setup() throws IOException {
+        Path configDir = Files.createTempDirectory("xpextractor-jmh");
+        ModConfig.loadConfig(configDir.resolve("xpextractor.json"));
+    }
+
+    @Benchmark
+    public ModConfig getInstance() {
+        return ModConfig.getInstance();
+    }
+
+    @Benchmark
+    public ModConfig getConfigSafely() {
+        return XPExtractorItem.getConfigSafely();
+    }
+
+    @Benchmark
+    public int readUseParameters() {
+        ModConfig config = XPExtractorItem.getConfigSafely();
+        return config.getXpBottlesPerExtraction() + config.getMaxExtractionsPerUse() + config.getCooldownTicks();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.xpextractor.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XpMathBenchmark {
+    @Param({"5", "30", "100", "1000", "100000"})
+    public int level;
+
+    public float progress = 0.37f;
+    public int maxExtractions = 16;
+
+    private long totalPoints;
+
+    @Setup
+    public void setup() {
+        totalPoints = XpMath.totalPointsForLevel(level) + Math.round(progress * XpMath.pointsForLevelUp(level));
+    }
+
+    @Benchmark
+    public long totalPointsForLevel() {
+        return XpMath.totalPointsForLevel(level) + Math.round((double) progress * XpMath.pointsForLevelUp(level));
+    }
+
+    @Benchmark
+    public int levelForPoints() {
+        return XpMath.levelForPoints(totalPoints);
+    }
+
+    @Benchmark
+    public long extractionCost() {
+        int possibleExtractions = XpMath.possibleExtractions(totalPoints, maxExtractions);
+        return XpMath.extractionCost(possibleExtractions);
+    }
+
+    @Benchmark
+    public long deductAndRecompute() {
+        long remaining = totalPoints - XpMath.extractionCost(XpMath.possibleExtractions(totalPoints, maxExtractions));
+        int newLevel = XpMath.levelForPoints(remaining);
+        return newLevel + Float.floatToRawIntBits(XpMath.progressForPoints(remaining, newLevel));
+    }
+
+    // The per-level loop use() ran before XpMath, kept as a reference point
+    @Benchmark
+    public int legacyLevelLoop() {
+        int xp = 0;
+        for (int i = 0; i < level; i++) {
+            xp += legacyXpNeededForLevel(i);
+        }
+        xp += Math.round(progress * legacyXpNeededForLevel(level));
+        return xp;
+    }
+
+    private static int legacyXpNeededForLevel(int level) {
+        if (level >= 30) {
+            return 112 + (level - 30) * 9;
+        } else if (level >= 15) {
+            return 37 + (level - 15) * 5;
+        } else {
+            return 7 + level * 2;
+        }
+    }
+}
@@ -4,23 +4,35 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.example.xpextractor.config.ModConfig;
+import com.example.xpextractor.effect.ExtractionEffectCoalescer;
 import com.example.xpextractor.fabric.JsonResourceHook;
+import com.example.xpextractor.ledger.XpLedger;
+import com.example.xpextractor.limit.ExtractionRateLimiter;
+import com.example.xpextractor.metrics.LatencyHistogram;
+import com.example.xpextractor.metrics.XpMetrics;
+import com.example.xpextractor.network.ModNetworking;
+import com.example.xpextractor.network.ServerSettingsSync;
+import com.example.xpextractor.registry.ModBlockEntities;
+import com.example.xpextractor.registry.ModBlocks;
+import com.example.xpextractor.registry.ModComponents;
 import com.example.xpextractor.registry.ModItems;
 import com.example.xpextractor.registry.ModRecipes;
+import com.example.xpextractor.registry.RecipeDiagnostics;
+import com.example.xpextractor.registry.RecipeRecoveryScheduler;
+import com.example.xpextractor.registry.RecipeUnlocks;
 
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.fabricmc.fabric.api.resource.ResourcePackActivationType;
-import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.advancement.Advancement;
+import net.minecraft.advancement.AdvancementEntry;
 import net.minecraft.advancement.AdvancementManager;
 import net.minecraft.advancement.PlayerAdvancementTracker;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.recipe.Ingredient;
-import net.minecraft.recipe.RecipeEntry;
 import net.minecraft.recipe.RecipeManager;
 import net.minecraft.recipe.RecipeSerializer;
 import net.minecraft.recipe.RecipeType;
@@ -33,16 +45,14 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 import net.minecraft.registry.Registries;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.command.argument.EntityArgumentType;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import com.mojang.brigadier.context.CommandContext;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
 
 public class XPExtractor implements ModInitializer {
     public static final String MOD_ID = "xpextractor";
@@ -53,13 +63,22 @@ public class XPExtractor implements ModInitializer {
         LOGGER.info("Initializing XP Extractor mod");
         
         try {
-            forceResetConfig();
-            
             LOGGER.debug("Loading configuration...");
             ModConfig.loadConfig();
+            ModConfig.startWatching();
             LOGGER.debug("Configuration loaded successfully");
             
+            ModConfig.addListener(ExtractionRateLimiter::configure);
+            ExtractionRateLimiter.register();
+            
+            XpMetrics.registerMBean();
+            
+            ModNetworking.registerPayloads();
+            
             LOGGER.debug("Registering mod content...");
+            ModComponents.registerModComponents();
+            ModBlocks.registerModBlocks();
+            ModBlockEntities.registerBlockEntities();
             ModItems.registerModItems();
             LOGGER.info("XP Extractor items registered");
             
@@ -69,14 +88,18 @@ public class XPExtractor implements ModInitializer {
             JsonResourceHook.register();
             LOGGER.info("Registered JSON resource hook for recipe loading");
             
+            ExtractionEffectCoalescer.register();
+            RecipeUnlocks.register();
+            RecipeRecoveryScheduler.register();
+            XpLedger.register();
+            ServerSettingsSync.register();
+            
             registerCommands();
             
             ServerLifecycleEvents.SERVER_STARTED.register(server -> {
                 LOGGER.info("Server started, checking recipe registration");
                 
-                checkRecipesThouroughly(server);
-                
-                ModRecipes.patchRecipesIntoManager(server.getRecipeManager(), server);
+                ModRecipes.patchRecipesIntoManager(server.getRecipeManager(), server, "server_started");
                 
                 forceUnlockRecipes(server);
             });
@@ -85,7 +108,7 @@ public class XPExtractor implements ModInitializer {
                 if (success) {
                     LOGGER.info("Data pack reload completed successfully, re-applying recipe patches");
                     
-                    ModRecipes.patchRecipesIntoManager(server.getRecipeManager(), server);
+                    ModRecipes.patchRecipesIntoManager(server.getRecipeManager(), server, "data_pack_reload");
                 }
             });
             
@@ -106,6 +129,20 @@ public class XPExtractor implements ModInitializer {
                     .then(CommandManager.literal("help")
                         .executes(this::helpCommand)
                     )
+                    .then(CommandManager.literal("diagnose")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .executes(this::diagnoseCommand)
+                    )
+                    .then(CommandManager.literal("stats")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .executes(this::statsCommand)
+                    )
+                    .then(CommandManager.literal("history")
+                        .requires(source -> source.hasPermissionLevel(2))
+                        .then(CommandManager.argument("player", EntityArgumentType.player())
+                            .executes(this::historyCommand)
+                        )
+                    )
             );
         });
         
@@ -118,6 +155,11 @@ public class XPExtractor implements ModInitializer {
             source.sendFeedback(() -> Text.literal("§a§l[XP Extractor]§r §eCommands:"), false);
             source.sendFeedback(() -> Text.literal("§a/xpextractor giveitem§r - Give the XP Extractor item directly to the player"), false);
             source.sendFeedback(() -> Text.literal("§a/xpextractor help§r - Show this help message"), false);
+            if (source.hasPermissionLevel(2)) {
+                source.sendFeedback(() -> Text.literal("§a/xpextractor diagnose§r - Write a recipe diagnostics report"), false);
+                source.sendFeedback(() -> Text.literal("§a/xpextractor history <player>§r - Show a player's recent extractions"), false);
+                source.sendFeedback(() -> Text.literal("§a/xpextractor stats§r - Show usage counters and timings"), false);
+            }
             
             return 1;
         } catch (Exception e) {
@@ -146,185 +188,103 @@ public class XPExtractor implements ModInitializer {
         }
     }
     
-    private void forceUnlockRecipes(MinecraftServer server) {
-        if (server == null) {
-            LOGGER.warn("Cannot force-unlock recipes: server is null");
-            return;
-        }
+    private int diagnoseCommand(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        MinecraftServer server = source.getServer();
         
-        try {
-            LOGGER.info("Forcing recipe unlocks for all players...");
-            
-            Identifier[] advancementIds = {
-                Identifier.of(MOD_ID, "recipes/misc/xp_extractor"),
-                Identifier.of("minecraft", "recipes/misc/xp_extractor")
-            };
-            
-            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
-                PlayerAdvancementTracker tracker = player.getAdvancementTracker();
-                
-                RecipeManager recipeManager = server.getRecipeManager();
-                
-                Identifier[] recipeIds = {
-                    Identifier.of(MOD_ID, "xp_extractor"),
-                    Identifier.of("minecraft", "xp_extractor")
-                };
-                
-                for (Identifier recipeId : recipeIds) {
-                    Optional<RecipeEntry<?>> recipe = recipeManager.get(recipeId);
-                    if (recipe.isPresent()) {
-                        LOGGER.info("Unlocking recipe " + recipeId + " for player " + player.getName().getString());
-                        player.unlockRecipes(java.util.List.of(recipe.get()));
-                    } else {
-                        LOGGER.warn("Could not find recipe: " + recipeId);
-                    }
-                }
-                
-                for (Identifier id : advancementIds) {
-                    var advancementEntry = server.getAdvancementLoader().get(id);
-                    if (advancementEntry != null) {
-                        var progress = tracker.getProgress(advancementEntry);
-                        if (!progress.isDone()) {
-                            LOGGER.info("Granting advancement " + id + " for player " + player.getName().getString());
-                            
-                            for (String criterion : advancementEntry.value().criteria().keySet()) {
-                                tracker.grantCriterion(advancementEntry, criterion);
-                            }
-                        }
-                    } else {
-                        LOGGER.warn("Could not find advancement: " + id);
-                    }
-                }
+        source.sendFeedback(() -> Text.literal("§eWriting recipe diagnostics report..."), false);
+        RecipeDiagnostics.writeReport(server).whenComplete((path, error) -> server.execute(() -> {
+            if (error != null) {
+                LOGGER.error("Failed to write diagnostics report", error);
+                source.sendError(Text.literal("Failed to write diagnostics report, see the server log"));
+            } else {
+                source.sendFeedback(() -> Text.literal("§aDiagnostics report written to " + path), false);
             }
-            
-            LOGGER.info("Forced recipe unlocks complete");
-        } catch (Exception e) {
-            LOGGER.error("Error while forcing recipe unlocks", e);
+        }));
+        
+        return 1;
+    }
+    
+    private int statsCommand(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        source.sendFeedback(() -> Text.literal("§a§l[XP Extractor]§r §eStats since startup:"), false);
+        for (Map.Entry<String, LongAdder> entry : XpMetrics.counters().entrySet()) {
+            String line = "§7- " + entry.getKey() + ": §f" + entry.getValue().sum();
+            source.sendFeedback(() -> Text.literal(line), false);
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : XpMetrics.histograms().entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            String line = "§7- " + entry.getKey() + ": §f" + snapshot.count() + " samples"
+                + ", mean " + String.format("%.1f", snapshot.meanNanos() / 1000.0) + "µs"
+                + ", p50 <" + (snapshot.p50Nanos() / 1000) + "µs"
+                + ", p99 <" + (snapshot.p99Nanos() / 1000) + "µs"
+                + ", max " + (snapshot.maxNanos() / 1000) + "µs";
+            source.sendFeedback(() -> Text.literal(line), false);
         }
+        return 1;
     }
     
-    private void checkRecipesThouroughly(MinecraftServer server) {
+    private int historyCommand(CommandContext<ServerCommandSource> context) {
         try {
-            LOGGER.info("Available recipes in recipe manager:");
-            boolean foundOurRecipes = false;
-            boolean foundMainRecipe = false;
-            boolean foundRepairRecipe = false;
-            boolean foundMinecraftNamespace = false;
-            boolean foundModNamespace = false;
-            Map<String, Integer> recipeNamespaces = new HashMap<>();
+            ServerCommandSource source = context.getSource();
+            ServerPlayerEntity target = EntityArgumentType.getPlayer(context, "player");
+            String name = target.getName().getString();
             
-            for (var entry : server.getRecipeManager().listAllOfType(RecipeType.CRAFTING)) {
-                Identifier recipeId = entry.id();
-                LOGGER.info("Recipe ID: " + recipeId);
-                
-                String namespace = recipeId.getNamespace();
-                recipeNamespaces.put(namespace, recipeNamespaces.getOrDefault(namespace, 0) + 1);
-                
-                if (recipeId.getNamespace().equals(MOD_ID)) {
-                    foundModNamespace = true;
-                    
-                    if (recipeId.getPath().equals("xp_extractor")) {
-                        LOGGER.info("✓ Found main XP Extractor recipe in mod namespace: " + recipeId);
-                        foundMainRecipe = true;
-                        foundOurRecipes = true;
-                    } 
-                    else if (recipeId.getPath().equals("repair_xp_extractor")) {
-                        LOGGER.info("✓ Found repair XP Extractor recipe: " + recipeId);
-                        foundRepairRecipe = true;
-                        foundOurRecipes = true;
-                    }
-                }
-                else if (recipeId.getNamespace().equals("minecraft")) {
-                    if (recipeId.getPath().equals("xp_extractor")) {
-                        LOGGER.info("✓ Found XP Extractor recipe in minecraft namespace: " + recipeId);
-                        foundMinecraftNamespace = true;
-                        foundOurRecipes = true;
-                    }
-                }
+            ExtractionRateLimiter.PlayerLimitState state = ExtractionRateLimiter.getState(target.getUuid());
+            if (state == null) {
+                source.sendFeedback(() -> Text.literal("§e" + name + " has not used the XP Extractor this session"), false);
+                return 0;
             }
             
-            LOGGER.info("Recipe namespace statistics:");
-            for (Map.Entry<String, Integer> entry : recipeNamespaces.entrySet()) {
-                LOGGER.info("- Namespace: " + entry.getKey() + ", Count: " + entry.getValue());
+            long[] history = state.getHistory();
+            long now = System.currentTimeMillis();
+            long rejected = state.getRejected();
+            source.sendFeedback(() -> Text.literal("§a§l[XP Extractor]§r §e" + name + ": " + history.length + " recent extractions, " + rejected + " rate-limited"), false);
+            for (int i = history.length - 1; i >= 0; i--) {
+                long ago = now - history[i];
+                source.sendFeedback(() -> Text.literal("§7- " + String.format("%.1f", ago / 1000.0) + "s ago"), false);
             }
             
-            if (!foundOurRecipes) {
-                LOGGER.warn("⚠️ No XP Extractor recipes found in recipe manager!");
-                LOGGER.warn("Diagnosis:");
-                LOGGER.warn("- Main recipe found: " + foundMainRecipe);
-                LOGGER.warn("- Repair recipe found: " + foundRepairRecipe);
-                LOGGER.warn("- Found in mod namespace: " + foundModNamespace);
-                LOGGER.warn("- Found in minecraft namespace: " + foundMinecraftNamespace);
-                
-                checkJsonExists("xpextractor:recipes/xp_extractor");
-                checkJsonExists("minecraft:recipes/xp_extractor");
-                
-                LOGGER.warn("Please check your game logs for any errors related to recipe loading.");
-                LOGGER.warn("You may need to manually reload game resources with F3+T or the /reload command.");
-            } else {
-                LOGGER.info("✓ XP Extractor recipes found in recipe manager!");
-                LOGGER.info("Recipe status:");
-                LOGGER.info("- Main recipe found: " + foundMainRecipe);
-                LOGGER.info("- Repair recipe found: " + foundRepairRecipe);
-                LOGGER.info("- Found in mod namespace: " + foundModNamespace);
-                LOGGER.info("- Found in minecraft namespace: " + foundMinecraftNamespace);
-            }
+            return history.length;
         } catch (Exception e) {
-            LOGGER.error("Error checking recipes on server start:", e);
+            LOGGER.error("Error executing history command", e);
+            context.getSource().sendError(Text.literal("An error occurred while reading extraction history"));
+            return 0;
         }
     }
     
-    private void checkJsonExists(String idString) {
+    private void forceUnlockRecipes(MinecraftServer server) {
+        if (server == null) {
+            LOGGER.warn("Cannot force-unlock recipes: server is null");
+            return;
+        }
+        
         try {
-            String namespace, path;
-            if (idString.contains(":")) {
-                String[] parts = idString.split(":", 2);
-                namespace = parts[0];
-                path = parts[1];
-            } else {
-                namespace = "minecraft";
-                path = idString;
+            Identifier advancementId = Identifier.of(MOD_ID, "recipes/misc/xp_extractor");
+            AdvancementEntry advancementEntry = server.getAdvancementLoader().get(advancementId);
+            if (advancementEntry == null) {
+                LOGGER.warn("Could not find advancement: " + advancementId);
             }
             
-            Identifier id = Identifier.of(namespace, path);
-            boolean itemExists = Registries.ITEM.containsId(Identifier.of(MOD_ID, "xp_extractor"));
-            LOGGER.info("XP Extractor item registered: " + itemExists);
-            
-            String resourcePath = "data/" + id.getNamespace() + "/" + id.getPath().replace("recipes/", "recipe/") + ".json";
-            if (getClass().getClassLoader().getResource(resourcePath) != null) {
-                LOGGER.info("✓ Recipe JSON file exists at: " + resourcePath);
-            } else {
-                LOGGER.warn("❌ Recipe JSON file missing at: " + resourcePath);
+            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                // Players already marked with the current recipe set have the advancement's reward too
+                if (RecipeUnlocks.unlockFor(player) != RecipeUnlocks.Result.UNLOCKED || advancementEntry == null) {
+                    continue;
+                }
                 
-                String altPath = resourcePath.replace("recipe/", "recipes/");
-                if (getClass().getClassLoader().getResource(altPath) != null) {
-                    LOGGER.warn("⚠ Found recipe at old path structure: " + altPath);
-                    LOGGER.warn("Update paths to use 'recipe/' instead of 'recipes/' for Minecraft 1.21.1");
+                PlayerAdvancementTracker tracker = player.getAdvancementTracker();
+                if (!tracker.getProgress(advancementEntry).isDone()) {
+                    for (String criterion : advancementEntry.value().criteria().keySet()) {
+                        tracker.grantCriterion(advancementEntry, criterion);
+                    }
                 }
             }
         } catch (Exception e) {
-            LOGGER.error("Error checking JSON existence: " + e.getMessage());
-        }
-    }
-    
-    private void forceResetConfig() {
-        try {
-            Path configPath = FabricLoader.getInstance().getConfigDir().resolve("xpextractor.json");
-            if (Files.exists(configPath)) {
-                LOGGER.info("Deleting old config file to apply new defaults");
-                Files.delete(configPath);
-            }
-        } catch (IOException e) {
-            LOGGER.error("Failed to delete old config file", e);
+            LOGGER.error("Error while forcing recipe unlocks", e);
         }
     }
     
     public static ModConfig getConfig() {
-        try {
-            return ModConfig.getInstance();
-        } catch (Exception e) {
-            LOGGER.error("Failed to get mod configuration!", e);
-            return null;
-        }
+        return ModConfig.getInstance();
     }
 }
\ No newline at end of file
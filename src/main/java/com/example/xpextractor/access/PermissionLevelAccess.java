@@ -0,0 +1,10 @@
+package com.example.xpextractor.access;
+
+// Implemented on ServerPlayerEntity by ServerPlayerEntityMixin; kept current by PlayerManagerMixin
+public interface PermissionLevelAccess {
+    int UNKNOWN = -1;
+    
+    int xpextractor$getPermissionLevel();
+    
+    void xpextractor$setPermissionLevel(int level);
+}
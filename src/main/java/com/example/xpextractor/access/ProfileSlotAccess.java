@@ -0,0 +1,12 @@
+package com.example.xpextractor.access;
+
+import com.example.xpextractor.config.ModConfig;
+
+// Implemented on World by WorldMixin so the dimension's profile slot is looked up once per config snapshot
+public interface ProfileSlotAccess {
+    ModConfig xpextractor$getProfileConfig();
+    
+    int xpextractor$getProfileSlot();
+    
+    void xpextractor$setProfileSlot(ModConfig config, int slot);
+}
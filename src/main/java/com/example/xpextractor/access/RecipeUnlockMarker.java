@@ -0,0 +1,8 @@
+package com.example.xpextractor.access;
+
+// Implemented on ServerPlayerEntity by RecipeBookMixin; persisted with the player's data
+public interface RecipeUnlockMarker {
+    int xpextractor$getRecipeGeneration();
+    
+    void xpextractor$setRecipeGeneration(int generation);
+}
@@ -0,0 +1,117 @@
+package com.example.xpextractor.block;
+
+import com.example.xpextractor.item.XPExtractorItem;
+import com.example.xpextractor.ledger.LedgerEntryType;
+import com.example.xpextractor.ledger.XpLedger;
+import com.example.xpextractor.registry.ModBlockEntities;
+import com.mojang.serialization.MapCodec;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockRenderType;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.state.StateManager;
+import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.text.Text;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Hand;
+import net.minecraft.util.ItemActionResult;
+import net.minecraft.util.ItemScatterer;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+public class XpReservoirBlock extends BlockWithEntity {
+    public static final MapCodec<XpReservoirBlock> CODEC = createCodec(XpReservoirBlock::new);
+    
+    // Set while there is bottling work queued; the block entity only ticks in this state
+    public static final BooleanProperty ACTIVE = BooleanProperty.of("active");
+    
+    public XpReservoirBlock(Settings settings) {
+        super(settings);
+        setDefaultState(getStateManager().getDefaultState().with(ACTIVE, false));
+    }
+    
+    @Override
+    protected MapCodec<? extends BlockWithEntity> getCodec() {
+        return CODEC;
+    }
+    
+    @Override
+    protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
+        builder.add(ACTIVE);
+    }
+    
+    @Override
+    protected BlockRenderType getRenderType(BlockState state) {
+        return BlockRenderType.MODEL;
+    }
+    
+    @Override
+    public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        return new XpReservoirBlockEntity(pos, state);
+    }
+    
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
+        // The chunk asks again whenever the state changes, so an idle reservoir costs nothing per tick
+        if (world.isClient || !state.get(ACTIVE)) {
+            return null;
+        }
+        return validateTicker(type, ModBlockEntities.XP_RESERVOIR, XpReservoirBlockEntity::tick);
+    }
+    
+    @Override
+    protected ItemActionResult onUseWithItem(ItemStack stack, BlockState state, World world, BlockPos pos, PlayerEntity player, Hand hand, BlockHitResult hit) {
+        if (!(stack.getItem() instanceof XPExtractorItem) || XPExtractorItem.getStoredXp(stack) <= 0) {
+            return ItemActionResult.PASS_TO_DEFAULT_BLOCK_INTERACTION;
+        }
+        if (!world.isClient && world.getBlockEntity(pos) instanceof XpReservoirBlockEntity reservoir) {
+            long moved = reservoir.deposit(XPExtractorItem.getStoredXp(stack));
+            XPExtractorItem.takeStoredXp(stack, moved);
+            XpLedger.record(player, LedgerEntryType.RESERVOIR_TRANSFER, moved);
+            report(world, pos, player, moved, reservoir);
+        }
+        return ItemActionResult.success(world.isClient);
+    }
+    
+    @Override
+    protected ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, BlockHitResult hit) {
+        if (!world.isClient && world.getBlockEntity(pos) instanceof XpReservoirBlockEntity reservoir) {
+            long moved = player.isSneaking() ? reservoir.withdrawLevel(player) : reservoir.depositLevel(player);
+            report(world, pos, player, moved, reservoir);
+        }
+        return ActionResult.success(world.isClient);
+    }
+    
+    private static void report(World world, BlockPos pos, PlayerEntity player, long moved, XpReservoirBlockEntity reservoir) {
+        if (moved > 0) {
+            world.playSound(null, pos, SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, SoundCategory.BLOCKS, 0.5f, 0.8f + world.getRandom().nextFloat() * 0.4f);
+        }
+        player.sendMessage(Text.translatable("message.xpextractor.reservoir_status", reservoir.getPoints(), reservoir.getCapacity()).formatted(Formatting.GREEN), true);
+    }
+    
+    @Override
+    protected void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+        // Stored XP leaves with the dropped block through its loot table; only the bottles spill out
+        ItemScatterer.onStateReplaced(state, newState, world, pos);
+        super.onStateReplaced(state, world, pos, newState, moved);
+    }
+    
+    @Override
+    protected boolean hasComparatorOutput(BlockState state) {
+        return true;
+    }
+    
+    @Override
+    protected int getComparatorOutput(BlockState state, World world, BlockPos pos) {
+        return world.getBlockEntity(pos) instanceof XpReservoirBlockEntity reservoir ? reservoir.getComparatorOutput() : 0;
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.xpextractor.block;
+
+import com.example.xpextractor.config.ModConfig;
+import com.example.xpextractor.ledger.LedgerEntryType;
+import com.example.xpextractor.ledger.XpLedger;
+import com.example.xpextractor.metrics.XpMetrics;
+import com.example.xpextractor.registry.ModBlockEntities;
+import com.example.xpextractor.registry.ModComponents;
+import com.example.xpextractor.util.XpMath;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.component.ComponentMap;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.Inventories;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.SidedInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+
+// Holds a point total and turns it into Experience Bottles from glass bottles fed in by hoppers.
+// Bottling runs in per-tick batches and the block stops ticking once no batch has been possible for a while.
+public class XpReservoirBlockEntity extends BlockEntity implements SidedInventory {
+    public static final int INPUT_SLOT = 0;
+    public static final int OUTPUT_SLOT = 1;
+    
+    private static final int[] INPUT_SLOTS = {INPUT_SLOT};
+    private static final int[] OUTPUT_SLOTS = {OUTPUT_SLOT};
+    private static final int MAX_SIGNAL = 15;
+    // A hopper moves one item every 8 ticks; staying awake across several transfers keeps a
+    // hopper-fed reservoir from flipping its block state twice per bottle
+    private static final int IDLE_TICKS_BEFORE_SLEEP = 40;
+    
+    private final DefaultedList<ItemStack> inventory = DefaultedList.ofSize(2, ItemStack.EMPTY);
+    private long points;
+    private int comparatorOutput;
+    private int idleTicks;
+    
+    public XpReservoirBlockEntity(BlockPos pos, BlockState state) {
+        super(ModBlockEntities.XP_RESERVOIR, pos, state);
+    }
+    
+    public static void tick(World world, BlockPos pos, BlockState state, XpReservoirBlockEntity reservoir) {
+        int batch = Math.min(ModConfig.getInstance().getReservoirBottlesPerTick(), reservoir.bottlesAvailable());
+        if (batch > 0) {
+            ItemStack output = reservoir.inventory.get(OUTPUT_SLOT);
+            if (output.isEmpty()) {
+                reservoir.inventory.set(OUTPUT_SLOT, new ItemStack(Items.EXPERIENCE_BOTTLE, batch));
+            } else {
+                output.increment(batch);
+            }
+            reservoir.inventory.get(INPUT_SLOT).decrement(batch);
+            XpMetrics.BOTTLES_CREATED.add(batch);
+            long cost = XpMath.extractionCost(batch);
+            reservoir.setPoints(reservoir.points - cost);
+            XpLedger.record(XpLedger.blockId(pos), LedgerEntryType.RESERVOIR_BOTTLE, cost);
+            // The batch itself keeps the block awake; only outside changes need the wake-up check
+            reservoir.saveChanges();
+            reservoir.idleTicks = 0;
+        } else if (++reservoir.idleTicks >= IDLE_TICKS_BEFORE_SLEEP) {
+            reservoir.idleTicks = 0;
+            reservoir.setActive(false);
+        }
+    }
+    
+    // How many bottles the current points, glass and output room allow; bottling pays the same fee as the extractor
+    private int bottlesAvailable() {
+        ItemStack input = inventory.get(INPUT_SLOT);
+        ItemStack output = inventory.get(OUTPUT_SLOT);
+        if (!input.isOf(Items.GLASS_BOTTLE)) {
+            return 0;
+        }
+        int room;
+        if (output.isEmpty()) {
+            room = Items.EXPERIENCE_BOTTLE.getMaxCount();
+        } else if (output.isOf(Items.EXPERIENCE_BOTTLE)) {
+            room = output.getMaxCount() - output.getCount();
+        } else {
+            return 0;
+        }
+        long affordable = points / XpMath.POINTS_PER_EXTRACTION;
+        return (int) Math.min(affordable, Math.min(input.getCount(), room));
+    }
+    
+    public long getPoints() {
+        return points;
+    }
+    
+    public long getCapacity() {
+        return ModConfig.getInstance().getReservoirCapacity();
+    }
+    
+    public int getComparatorOutput() {
+        return comparatorOutput;
+    }
+    
+    // Returns how many of the offered points fit
+    public long deposit(long offered) {
+        long accepted = Math.max(0L, Math.min(offered, getCapacity() - points));
+        if (accepted > 0) {
+            setPoints(points + accepted);
+            markDirty();
+        }
+        return accepted;
+    }
+    
+    // Takes the player's progress into their current level, or a whole level when they are exactly on one
+    public long depositLevel(PlayerEntity player) {
+        long total = XpMath.getTotalPoints(player);
+        int level = XpMath.levelForPoints(total);
+        long amount = XpMath.pointsIntoLevel(total, level);
+        if (amount <= 0 && level > 0) {
+            amount = XpMath.pointsForLevelUp(level - 1);
+        }
+        long accepted = deposit(Math.min(amount, total));
+        XpMath.deductPoints(player, accepted);
+        XpLedger.record(player, LedgerEntryType.RESERVOIR_DEPOSIT, accepted);
+        return accepted;
+    }
+    
+    // Gives the player what they need to reach their next level
+    public long withdrawLevel(PlayerEntity player) {
+        long total = XpMath.getTotalPoints(player);
+        int level = XpMath.levelForPoints(total);
+        long needed = XpMath.totalPointsForLevel(level + 1) - total;
+        long added = XpMath.addPoints(player, Math.min(needed, points));
+        XpLedger.record(player, LedgerEntryType.RESERVOIR_WITHDRAW, added);
+        if (added > 0) {
+            setPoints(points - added);
+            saveChanges();
+        }
+        return added;
+    }
+    
+    // Comparators see the fill level; neighbours are only notified when the signal actually changes
+    private void setPoints(long points) {
+        this.points = points;
+        int signal = signalFor(points, getCapacity());
+        if (signal != comparatorOutput) {
+            comparatorOutput = signal;
+            if (world != null) {
+                world.updateComparators(pos, getCachedState().getBlock());
+            }
+        }
+    }
+    
+    static int signalFor(long points, long capacity) {
+        if (points <= 0 || capacity <= 0) {
+            return 0;
+        }
+        return (int) Math.min(MAX_SIGNAL, 1 + points * (MAX_SIGNAL - 1) / capacity);
+    }
+    
+    private void setActive(boolean active) {
+        if (world == null || world.isClient) {
+            return;
+        }
+        BlockState state = getCachedState();
+        if (state.get(XpReservoirBlock.ACTIVE) != active) {
+            world.setBlockState(pos, state.with(XpReservoirBlock.ACTIVE, active), Block.NOTIFY_LISTENERS);
+        }
+    }
+    
+    // BlockEntity.markDirty would also update comparators on every call; their signal only
+    // depends on the points, so setPoints notifies them when it changes and saving skips it
+    private void saveChanges() {
+        if (world != null) {
+            world.markDirty(pos);
+        }
+    }
+    
+    // Hoppers, players and deposits all end here, so this is where an idle reservoir wakes up
+    @Override
+    public void markDirty() {
+        saveChanges();
+        if (bottlesAvailable() > 0) {
+            setActive(true);
+        }
+    }
+    
+    @Override
+    protected void readNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        super.readNbt(nbt, registries);
+        inventory.clear();
+        Inventories.readNbt(nbt, inventory, registries);
+        points = Math.max(0L, nbt.getLong("Points"));
+        comparatorOutput = signalFor(points, getCapacity());
+    }
+    
+    @Override
+    protected void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        super.writeNbt(nbt, registries);
+        Inventories.writeNbt(nbt, inventory, registries);
+        nbt.putLong("Points", points);
+    }
+    
+    // Lets the dropped block item carry the stored points through the copy_components loot function
+    @Override
+    protected void readComponents(ComponentsAccess components) {
+        super.readComponents(components);
+        points = Math.max(0L, components.getOrDefault(ModComponents.STORED_XP, 0L));
+        comparatorOutput = signalFor(points, getCapacity());
+    }
+    
+    @Override
+    protected void addComponents(ComponentMap.Builder builder) {
+        super.addComponents(builder);
+        if (points > 0) {
+            builder.add(ModComponents.STORED_XP, points);
+        }
+    }
+    
+    @Override
+    public void removeFromCopiedStackNbt(NbtCompound nbt) {
+        nbt.remove("Points");
+    }
+    
+    @Override
+    public int[] getAvailableSlots(Direction side) {
+        return side == Direction.DOWN ? OUTPUT_SLOTS : INPUT_SLOTS;
+    }
+    
+    @Override
+    public boolean canInsert(int slot, ItemStack stack, Direction dir) {
+        return isValid(slot, stack);
+    }
+    
+    @Override
+    public boolean canExtract(int slot, ItemStack stack, Direction dir) {
+        return slot == OUTPUT_SLOT;
+    }
+    
+    @Override
+    public boolean isValid(int slot, ItemStack stack) {
+        return slot == INPUT_SLOT && stack.isOf(Items.GLASS_BOTTLE);
+    }
+    
+    @Override
+    public int size() {
+        return inventory.size();
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        for (ItemStack stack : inventory) {
+            if (!stack.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public ItemStack getStack(int slot) {
+        return inventory.get(slot);
+    }
+    
+    @Override
+    public ItemStack removeStack(int slot, int amount) {
+        ItemStack removed = Inventories.splitStack(inventory, slot, amount);
+        if (!removed.isEmpty()) {
+            markDirty();
+        }
+        return removed;
+    }
+    
+    @Override
+    public ItemStack removeStack(int slot) {
+        ItemStack removed = Inventories.removeStack(inventory, slot);
+        if (!removed.isEmpty()) {
+            markDirty();
+        }
+        return removed;
+    }
+    
+    @Override
+    public void setStack(int slot, ItemStack stack) {
+        inventory.set(slot, stack);
+        stack.capCount(getMaxCount(stack));
+        markDirty();
+    }
+    
+    @Override
+    public boolean canPlayerUse(PlayerEntity player) {
+        return Inventory.canPlayerUse(this, player);
+    }
+    
+    @Override
+    public void clear() {
+        inventory.clear();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.xpextractor.client;
+
+import com.example.xpextractor.metrics.XpMetrics;
+import com.example.xpextractor.registry.ModItems;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayerEntity;
+import net.minecraft.client.option.ParticlesMode;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+
+// Idle shimmer around the local player's held extractor; checked once per client tick instead of per inventory slot
+@Environment(EnvType.CLIENT)
+public class AmbientEffectTicker {
+    private static final int AMBIENT_PARTICLE_CHANCE = 16;
+    
+    public static void register() {
+        ClientTickEvents.END_CLIENT_TICK.register(AmbientEffectTicker::tick);
+    }
+    
+    private static void tick(MinecraftClient client) {
+        ClientPlayerEntity player = client.player;
+        ClientWorld world = client.world;
+        if (player == null || world == null || client.isPaused()) {
+            return;
+        }
+        
+        if (!player.getMainHandStack().isOf(ModItems.XP_EXTRACTOR)) {
+            return;
+        }
+        
+        if (client.options.getParticles().getValue() == ParticlesMode.MINIMAL) {
+            return;
+        }
+        
+        Random random = world.getRandom();
+        if (random.nextInt(AMBIENT_PARTICLE_CHANCE) != 0) {
+            return;
+        }
+        
+        world.addParticle(
+            ParticleTypes.REVERSE_PORTAL,
+            player.getX() + (random.nextDouble() - 0.5) * 0.5,
+            player.getY() + 1.0,
+            player.getZ() + (random.nextDouble() - 0.5) * 0.5,
+            0, 0.1, 0
+        );
+        XpMetrics.PARTICLES_EMITTED.increment();
+        
+        if (random.nextBoolean()) {
+            world.addParticle(
+                ParticleTypes.ENCHANT,
+                player.getX() + (random.nextDouble() - 0.5) * 0.3,
+                player.getY() + 0.8 + (random.nextDouble() - 0.5) * 0.2,
+                player.getZ() + (random.nextDouble() - 0.5) * 0.3,
+                0, 0, 0
+            );
+            XpMetrics.PARTICLES_EMITTED.increment();
+        }
+        
+        if (random.nextInt(3) == 0) {
+            Vec3d eyePos = player.getEyePos();
+            Vec3d look = player.getRotationVector();
+            world.addParticle(
+                ParticleTypes.END_ROD,
+                eyePos.x + look.x * 0.5 + (random.nextDouble() - 0.5) * 0.1,
+                eyePos.y - 0.2 + look.y * 0.5 + (random.nextDouble() - 0.5) * 0.1,
+                eyePos.z + look.z * 0.5 + (random.nextDouble() - 0.5) * 0.1,
+                0, 0, 0
+            );
+            XpMetrics.PARTICLES_EMITTED.increment();
+        }
+        
+        if (random.nextInt(8) == 0) {
+            world.playSound(
+                player,
+                player.getX(), player.getY(), player.getZ(),
+                SoundEvents.BLOCK_AMETHYST_BLOCK_CHIME,
+                SoundCategory.PLAYERS,
+                0.1f,
+                0.8f + random.nextFloat() * 0.4f
+            );
+            XpMetrics.SOUNDS_EMITTED.increment();
+        }
+    }
+}
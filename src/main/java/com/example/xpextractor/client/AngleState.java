@@ -0,0 +1,46 @@
+package com.example.xpextractor.client;
+
+// Per-holder needle smoothing for the lodestone predicate; mirrors the vanilla compass interpolator
+// but keeps the math free of game types so it can be benchmarked on its own
+final class AngleState {
+    private static final double TAU = Math.PI * 2.0;
+    
+    private double value;
+    private double speed;
+    private long lastUpdateTime = Long.MIN_VALUE;
+    
+    float aimed(long time, double angleToTarget, double bodyYawTurns) {
+        if (time != lastUpdateTime) {
+            update(time, 0.5 - (bodyYawTurns - 0.25));
+        }
+        return (float) wrap(angleToTarget + value);
+    }
+    
+    float aimless(long time, int seed) {
+        if (time != lastUpdateTime) {
+            update(time, Math.random());
+        }
+        return (float) wrap(value + (seed * 1327217883) / 2.14748365E9f);
+    }
+    
+    private void update(long time, double target) {
+        lastUpdateTime = time;
+        double delta = wrap(target - value + 0.5) - 0.5;
+        speed += delta * 0.1;
+        speed *= 0.8;
+        value = wrap(value + speed);
+    }
+    
+    static double angleTo(double dx, double dz) {
+        return Math.atan2(dz, dx) / TAU;
+    }
+    
+    static double turns(float yawDegrees) {
+        return wrap(yawDegrees / 360.0);
+    }
+    
+    static double wrap(double value) {
+        double wrapped = value - Math.floor(value);
+        return wrapped >= 1.0 ? 0.0 : wrapped;
+    }
+}
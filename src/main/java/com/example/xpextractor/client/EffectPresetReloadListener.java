@@ -0,0 +1,60 @@
+package com.example.xpextractor.client;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.effect.EffectPresets;
+import com.example.xpextractor.effect.ExtractionEffects;
+import com.example.xpextractor.metrics.XpMetrics;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+import java.io.Reader;
+import java.util.Optional;
+
+@Environment(EnvType.CLIENT)
+public class EffectPresetReloadListener implements SimpleSynchronousResourceReloadListener {
+    private static final Gson GSON = new Gson();
+    private static final Identifier PRESETS_ID = Identifier.of(XPExtractor.MOD_ID, "effects/presets.json");
+    
+    public static void register() {
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new EffectPresetReloadListener());
+    }
+    
+    @Override
+    public Identifier getFabricId() {
+        return Identifier.of(XPExtractor.MOD_ID, "effect_presets");
+    }
+    
+    @Override
+    public void reload(ResourceManager manager) {
+        long start = System.nanoTime();
+        EffectPresets presets = EffectPresets.defaults();
+        
+        Optional<Resource> resource = manager.getResource(PRESETS_ID);
+        if (resource.isPresent()) {
+            try (Reader reader = resource.get().getReader()) {
+                EffectPresets loaded = GSON.fromJson(reader, EffectPresets.class);
+                if (loaded != null) {
+                    presets = loaded;
+                }
+            } catch (JsonParseException e) {
+                XPExtractor.LOGGER.error("Failed to parse effect presets " + PRESETS_ID + ": " + e.getMessage());
+            } catch (Exception e) {
+                XPExtractor.LOGGER.error("Failed to read effect presets " + PRESETS_ID, e);
+            }
+        } else {
+            XPExtractor.LOGGER.warn("Effect presets not found at " + PRESETS_ID + ", using built-in defaults");
+        }
+        
+        ExtractionEffects.install(presets.compile());
+        XPExtractor.LOGGER.debug("Compiled extraction effect presets");
+        XpMetrics.EFFECT_PRESET_RELOAD_TIME.recordSince(start);
+    }
+}
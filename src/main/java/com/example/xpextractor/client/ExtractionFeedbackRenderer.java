@@ -0,0 +1,139 @@
+package com.example.xpextractor.client;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.effect.CompiledEffects;
+import com.example.xpextractor.effect.ExtractionEffects;
+import com.example.xpextractor.metrics.XpMetrics;
+import com.example.xpextractor.network.ExtractionFeedbackPayload;
+import com.example.xpextractor.util.XpMath;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.random.Random;
+
+@Environment(EnvType.CLIENT)
+public class ExtractionFeedbackRenderer {
+    public static void register() {
+        ClientPlayNetworking.registerGlobalReceiver(ExtractionFeedbackPayload.ID, (payload, context) -> {
+            try {
+                render(context.client(), payload);
+            } catch (Exception e) {
+                XPExtractor.LOGGER.warn("Error rendering extraction feedback", e);
+            }
+        });
+    }
+    
+    private static void render(MinecraftClient client, ExtractionFeedbackPayload payload) {
+        ClientWorld world = client.world;
+        if (world == null) {
+            return;
+        }
+        
+        // Seeded so every viewer rebuilds the same effect the server rolled
+        Random random = Random.create(payload.seed());
+        ExtractionEffects.Sink sink = particleSink(world, random);
+        CompiledEffects effects = ExtractionEffects.current();
+        double handX = payload.x() + payload.handOffsetX();
+        double handY = payload.y() + payload.handOffsetY();
+        double handZ = payload.z() + payload.handOffsetZ();
+        boolean isUser = client.player != null && client.player.getId() == payload.entityId();
+        
+        switch (payload.result()) {
+            case SUCCESS, DEPOSITED, CONDENSED -> {
+                effects.emitExtraction(
+                    sink,
+                    random,
+                    payload.x(), payload.y(), payload.z(),
+                    handX, handY, handZ,
+                    payload.extractionCount(),
+                    payload.particleDensity(),
+                    payload.detail()
+                );
+                
+                // Coalesced extractions play one louder sound instead of one per user
+                float volume = Math.min(2.0f, 1.0f + 0.15f * (payload.contributors() - 1));
+                playSound(world, payload, SoundEvents.BLOCK_ENCHANTMENT_TABLE_USE, 0.7f * volume, 0.8f + random.nextFloat() * 0.2f);
+                playSound(world, payload, SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, 0.6f * volume, 0.5f + (payload.extractionCount() * 0.05f));
+                playSound(world, payload, SoundEvents.ITEM_BOTTLE_FILL, 0.5f * volume, 1.1f + random.nextFloat() * 0.2f);
+                playSound(world, payload, SoundEvents.ENTITY_ILLUSIONER_CAST_SPELL, 0.3f * volume, 1.2f);
+                
+                if (isUser) {
+                    long stored = (long) payload.bottles() * XpMath.POINTS_PER_BOTTLE;
+                    if (payload.result() == ExtractionFeedbackPayload.Result.DEPOSITED) {
+                        client.player.sendMessage(Text.translatable("message.xpextractor.deposited", payload.xpCost(), stored).formatted(Formatting.GREEN), true);
+                    } else if (payload.result() == ExtractionFeedbackPayload.Result.CONDENSED) {
+                        client.player.sendMessage(Text.translatable("message.xpextractor.condensed", payload.xpCost(), stored).formatted(Formatting.GREEN), true);
+                    } else if (payload.bottles() == 1) {
+                        client.player.sendMessage(Text.translatable("message.xpextractor.extraction_success").formatted(Formatting.GREEN), true);
+                    } else {
+                        client.player.sendMessage(Text.translatable("message.xpextractor.extraction_multiple", payload.xpCost(), payload.bottles()).formatted(Formatting.GREEN), true);
+                    }
+                }
+            }
+            case INSUFFICIENT_XP -> {
+                effects.emitFailure(sink, handX, handY, handZ);
+                
+                playSound(world, payload, SoundEvents.BLOCK_FIRE_EXTINGUISH, 0.4f, 1.0f);
+                playSound(world, payload, SoundEvents.ENTITY_ENDERMAN_TELEPORT, 0.2f, 0.5f);
+                
+                if (isUser) {
+                    client.player.sendMessage(Text.translatable("message.xpextractor.insufficient_xp", payload.xpCost()).formatted(Formatting.RED), true);
+                }
+            }
+            case WITHDRAWN -> {
+                playSound(world, payload, SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, 0.8f, 0.8f + random.nextFloat() * 0.2f);
+                playSound(world, payload, SoundEvents.ITEM_BOTTLE_EMPTY, 0.5f, 1.0f);
+                
+                if (isUser) {
+                    client.player.sendMessage(Text.translatable("message.xpextractor.withdrawn", payload.xpCost()).formatted(Formatting.GREEN), true);
+                }
+            }
+            case TOO_DAMAGED -> {
+                playSound(world, payload, SoundEvents.ENTITY_ITEM_BREAK, 0.8f, 1.0f);
+                
+                if (isUser) {
+                    client.player.sendMessage(Text.translatable("message.xpextractor.too_damaged"), true);
+                }
+            }
+            case UNKNOWN -> {
+                // Nothing sensible to show for a result this client does not understand
+            }
+        }
+    }
+    
+    // Mirrors how the client expands a vanilla particle packet into individual particles
+    private static ExtractionEffects.Sink particleSink(ClientWorld world, Random random) {
+        return (effect, x, y, z, count, deltaX, deltaY, deltaZ, speed) -> {
+            if (count == 0) {
+                world.addParticle(effect, x, y, z, deltaX * speed, deltaY * speed, deltaZ * speed);
+                XpMetrics.PARTICLES_EMITTED.increment();
+                return;
+            }
+            XpMetrics.PARTICLES_EMITTED.add(count);
+            
+            for (int i = 0; i < count; i++) {
+                world.addParticle(
+                    effect,
+                    x + random.nextGaussian() * deltaX,
+                    y + random.nextGaussian() * deltaY,
+                    z + random.nextGaussian() * deltaZ,
+                    random.nextGaussian() * speed,
+                    random.nextGaussian() * speed,
+                    random.nextGaussian() * speed
+                );
+            }
+        };
+    }
+    
+    private static void playSound(ClientWorld world, ExtractionFeedbackPayload payload, SoundEvent sound, float volume, float pitch) {
+        world.playSound(payload.x(), payload.y(), payload.z(), sound, SoundCategory.PLAYERS, volume, pitch, false);
+        XpMetrics.SOUNDS_EMITTED.increment();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.xpextractor.client;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.item.ClampedModelPredicateProvider;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.LodestoneTrackerComponent;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Same needle behaviour as the vanilla compass "angle" predicate, without the per-call ItemStack,
+// registry lookup or GlobalPos allocation. Runs on the render thread only.
+@Environment(EnvType.CLIENT)
+public class LodestoneAnglePredicate implements ClampedModelPredicateProvider {
+    private final Map<Entity, AngleState> states = new WeakHashMap<>();
+    
+    @Override
+    public float unclampedCall(ItemStack stack, @Nullable ClientWorld world, @Nullable LivingEntity entity, int seed) {
+        Entity holder = entity != null ? entity : stack.getHolder();
+        if (holder == null) {
+            return 0.0f;
+        }
+        if (world == null) {
+            if (!(holder.getWorld() instanceof ClientWorld holderWorld)) {
+                return 0.0f;
+            }
+            world = holderWorld;
+        }
+        
+        AngleState state = states.get(holder);
+        if (state == null) {
+            state = new AngleState();
+            states.put(holder, state);
+        }
+        
+        long time = world.getTime();
+        BlockPos target = getTarget(stack, world, holder);
+        if (target == null) {
+            return state.aimless(time, seed);
+        }
+        
+        double angleToTarget = AngleState.angleTo(target.getX() + 0.5 - holder.getX(), target.getZ() + 0.5 - holder.getZ());
+        return state.aimed(time, angleToTarget, AngleState.turns(holder.getBodyYaw()));
+    }
+    
+    @Nullable
+    private static BlockPos getTarget(ItemStack stack, ClientWorld world, Entity holder) {
+        BlockPos pos;
+        LodestoneTrackerComponent tracker = stack.get(DataComponentTypes.LODESTONE_TRACKER);
+        if (tracker != null) {
+            GlobalPos globalPos = tracker.target().orElse(null);
+            if (globalPos == null || globalPos.dimension() != holder.getWorld().getRegistryKey()) {
+                return null;
+            }
+            pos = globalPos.pos();
+        } else {
+            if (!world.getDimension().natural() || world.getRegistryKey() != holder.getWorld().getRegistryKey()) {
+                return null;
+            }
+            pos = world.getSpawnPos();
+        }
+        
+        double dx = pos.getX() - holder.getX();
+        double dy = pos.getY() - holder.getY();
+        double dz = pos.getZ() - holder.getZ();
+        return dx * dx + dy * dy + dz * dz < 1.0E-5f ? null : pos;
+    }
+}
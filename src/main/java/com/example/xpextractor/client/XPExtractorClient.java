@@ -1,14 +1,16 @@
 package com.example.xpextractor.client;
 
 import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.network.ServerSettingsPayload;
+import com.example.xpextractor.network.ServerSettingsSync;
 import com.example.xpextractor.registry.ModItems;
 import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.fabric.api.client.rendering.v1.TooltipComponentCallback;
 import net.minecraft.client.item.ModelPredicateProviderRegistry;
-import net.minecraft.item.ItemStack;
-import net.minecraft.item.Items;
 import net.minecraft.util.Identifier;
 
 @Environment(EnvType.CLIENT)
@@ -17,15 +19,17 @@ public class XPExtractorClient implements ClientModInitializer {
     public void onInitializeClient() {
         XPExtractor.LOGGER.info("Initializing XP Extractor Client!");
         
+        EffectPresetReloadListener.register();
+        ExtractionFeedbackRenderer.register();
+        AmbientEffectTicker.register();
+        
+        ClientPlayNetworking.registerGlobalReceiver(ServerSettingsPayload.ID, (payload, context) -> ServerSettingsSync.applyOnClient(payload));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> ServerSettingsSync.resetOnClient());
+        
         ModelPredicateProviderRegistry.register(
             ModItems.XP_EXTRACTOR,
-            Identifier.of("minecraft", "angle"),
-            (stack, world, entity, seed) -> {
-                return ModelPredicateProviderRegistry.get(
-                    new ItemStack(Items.COMPASS), 
-                    Identifier.of("minecraft", "angle")
-                ).call(stack, world, entity, seed);
-            }
+            Identifier.ofVanilla("angle"),
+            new LodestoneAnglePredicate()
         );
     }
 } 
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.xpextractor.config;
+
+public enum ExtractionMode {
+    BOTTLES,
+    BANK,
+    CONDENSED
+}
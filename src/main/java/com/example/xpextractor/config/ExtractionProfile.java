@@ -0,0 +1,35 @@
+package com.example.xpextractor.config;
+
+// Effective extraction parameters for one dimension and permission tier, resolved at load time
+public final class ExtractionProfile {
+    // One stack of Experience Bottles; above that a full inventory could not take even one extraction
+    public static final int MAX_BOTTLES_PER_EXTRACTION = 64;
+    
+    private final int xpBottlesPerExtraction;
+    private final int cooldownTicks;
+    private final int maxExtractionsPerUse;
+    private final int maxParticlesPerExtraction;
+    
+    ExtractionProfile(int xpBottlesPerExtraction, int cooldownTicks, int maxExtractionsPerUse) {
+        this.xpBottlesPerExtraction = Math.max(1, Math.min(MAX_BOTTLES_PER_EXTRACTION, xpBottlesPerExtraction));
+        this.cooldownTicks = Math.max(0, cooldownTicks);
+        this.maxExtractionsPerUse = Math.max(1, maxExtractionsPerUse);
+        this.maxParticlesPerExtraction = Math.min(20, 5 + (5 * this.maxExtractionsPerUse));
+    }
+    
+    public int getXpBottlesPerExtraction() {
+        return xpBottlesPerExtraction;
+    }
+    
+    public int getCooldownTicks() {
+        return cooldownTicks;
+    }
+    
+    public int getMaxExtractionsPerUse() {
+        return maxExtractionsPerUse;
+    }
+    
+    public int getMaxParticlesPerExtraction() {
+        return maxParticlesPerExtraction;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.xpextractor.config;
+
+import com.example.xpextractor.access.PermissionLevelAccess;
+import com.example.xpextractor.access.ProfileSlotAccess;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+
+public final class ExtractionProfiles {
+    private ExtractionProfiles() {
+    }
+    
+    public static ExtractionProfile forPlayer(World world, PlayerEntity player) {
+        ModConfig config = ModConfig.getInstance();
+        return config.getProfile(dimensionSlot(world, config), permissionTier(player, config));
+    }
+    
+    private static int dimensionSlot(World world, ModConfig config) {
+        ProfileSlotAccess access = (ProfileSlotAccess) world;
+        if (access.xpextractor$getProfileConfig() == config) {
+            return access.xpextractor$getProfileSlot();
+        }
+        
+        // Only hit once per world after each config swap
+        int slot = config.getDimensionSlot(world.getRegistryKey().getValue().toString());
+        access.xpextractor$setProfileSlot(config, slot);
+        return slot;
+    }
+    
+    // Every tier above the highest profiled one resolves to the same profile, so the level is clamped to it
+    private static int permissionTier(PlayerEntity player, ModConfig config) {
+        return Math.min(permissionLevel(player), config.getHighestProfiledPermissionLevel());
+    }
+    
+    private static int permissionLevel(PlayerEntity player) {
+        if (player instanceof ServerPlayerEntity serverPlayer) {
+            PermissionLevelAccess access = (PermissionLevelAccess) serverPlayer;
+            int level = access.xpextractor$getPermissionLevel();
+            if (level == PermissionLevelAccess.UNKNOWN) {
+                // Only before the first command tree update reaches this player
+                level = serverPlayer.getServer().getPermissionLevel(serverPlayer.getGameProfile());
+                access.xpextractor$setPermissionLevel(level);
+            }
+            return level;
+        }
+        
+        // Client players compare against a field the server keeps updated, so this is already cheap
+        for (int level = 4; level > 0; level--) {
+            if (player.hasPermissionLevel(level)) {
+                return level;
+            }
+        }
+        return 0;
+    }
+}
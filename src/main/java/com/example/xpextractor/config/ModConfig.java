@@ -1,6 +1,7 @@
 package com.example.xpextractor.config;
 
 import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.util.XpMath;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
@@ -9,153 +10,389 @@ import net.fabricmc.loader.api.FabricLoader;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+// Immutable once published: fields are only written by Gson and validate() before the
+// snapshot is swapped in, so readers never see a partially updated config
 public class ModConfig {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
-    private static final Path CONFIG_PATH = FabricLoader.getInstance().getConfigDir().resolve("xpextractor.json");
+    private static final String CONFIG_FILE_NAME = "xpextractor.json";
+    private static final long RELOAD_SETTLE_MILLIS = 100L;
+    private static final int PERMISSION_TIERS = 5;
     
-    private static volatile ModConfig INSTANCE;
-    private static final AtomicBoolean IS_LOADING = new AtomicBoolean(false);
+    public static final ModConfig DEFAULTS = new ModConfig().validate();
+    
+    private static volatile Path configPath;
+    private static volatile ModConfig current = DEFAULTS;
+    private static final List<Consumer<ModConfig>> LISTENERS = new CopyOnWriteArrayList<>();
+    private static Thread watcherThread;
     
     private int xpBottlesPerExtraction = 1;
     private int cooldownTicks = 60;
     private int maxExtractionsPerUse = 1;
     private int maxDurability = 32;
     private int repairAmountPerBottle = 16;
+    private int maxEffectIntensityPerArea = 16;
+    private boolean holdToExtract = false;
+    private int holdTicksPerExtraction = 10;
+    private int holdCommitIntervalTicks = 20;
+    private int extractionBurst = 5;
+    private int extractionsPerSecond = 2;
+    private int recipeRecoveryWindowSeconds = 60;
+    private ExtractionMode extractionMode = ExtractionMode.BOTTLES;
+    private boolean vacuumEnabled = false;
+    private int vacuumRadius = 8;
+    private int vacuumOrbsPerTick = 64;
+    private long reservoirCapacity = 100_000L;
+    private int reservoirBottlesPerTick = 16;
+    private boolean ledgerEnabled = true;
+    private Map<String, ProfileOverrides> dimensionProfiles = new LinkedHashMap<>();
+    private Map<String, ProfileOverrides> permissionProfiles = new LinkedHashMap<>();
     
     private transient int maxParticlesPerExtraction;
+    private transient Map<String, Integer> dimensionSlots;
+    private transient ExtractionProfile[] profileTable;
+    private transient int highestProfiledPermissionLevel;
+    
+    private ModConfig() {
+    }
     
     public static ModConfig getInstance() {
-        ModConfig result = INSTANCE;
-        if (result == null) {
-            synchronized (ModConfig.class) {
-                result = INSTANCE;
-                if (result == null) {
-                    loadConfig();
-                    result = INSTANCE;
-                }
-            }
+        return current;
+    }
+    
+    public static Path getConfigPath() {
+        Path path = configPath;
+        if (path == null) {
+            path = FabricLoader.getInstance().getConfigDir().resolve(CONFIG_FILE_NAME);
+            configPath = path;
         }
-        return result;
+        return path;
+    }
+    
+    // Listeners run immediately with the current snapshot and again on the watcher thread after each reload
+    public static void addListener(Consumer<ModConfig> listener) {
+        LISTENERS.add(listener);
+        listener.accept(current);
     }
     
     public static void loadConfig() {
-        if (!IS_LOADING.compareAndSet(false, true)) {
-            XPExtractor.LOGGER.debug("Config loading already in progress, skipping duplicate load");
+        loadConfig(getConfigPath());
+    }
+    
+    public static synchronized void loadConfig(Path path) {
+        configPath = path;
+        
+        try {
+            if (Files.exists(path)) {
+                ModConfig loaded = read(path);
+                publish(loaded);
+                XPExtractor.LOGGER.info("Loaded XP Extractor configuration from: " + path);
+            } else {
+                publish(DEFAULTS);
+                saveConfig();
+                XPExtractor.LOGGER.info("Created default XP Extractor configuration at: " + path);
+            }
+        } catch (IOException | JsonParseException e) {
+            XPExtractor.LOGGER.error("Failed to load config: " + e.getMessage());
+            XPExtractor.LOGGER.error("Keeping the previous configuration");
+        }
+    }
+    
+    public static synchronized void saveConfig() {
+        Path path = getConfigPath();
+        try {
+            Files.createDirectories(path.getParent());
+            // Write beside the real file and move it over so the watcher never parses a half-written file
+            Path temp = path.resolveSibling(CONFIG_FILE_NAME + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                GSON.toJson(current, writer);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            XPExtractor.LOGGER.info("Saved XP Extractor configuration to: " + path);
+        } catch (IOException e) {
+            XPExtractor.LOGGER.error("Failed to save config: " + e.getMessage(), e);
+            XPExtractor.LOGGER.error("Config path: " + path);
+        }
+    }
+    
+    public static synchronized void startWatching() {
+        if (watcherThread != null) {
             return;
         }
         
+        Path path = getConfigPath();
         try {
-            if (Files.exists(CONFIG_PATH)) {
-                try (Reader reader = Files.newBufferedReader(CONFIG_PATH)) {
-                    ModConfig loaded = GSON.fromJson(reader, ModConfig.class);
-                    
-                    if (loaded == null) {
-                        throw new JsonParseException("Config file parsed as null");
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            
+            watcherThread = new Thread(() -> watch(watchService, path), "XP Extractor Config Watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+            XPExtractor.LOGGER.info("Watching " + path + " for changes");
+        } catch (IOException e) {
+            XPExtractor.LOGGER.error("Failed to watch config file, changes will need a restart", e);
+        }
+    }
+    
+    private static void watch(WatchService watchService, Path path) {
+        Path fileName = path.getFileName();
+        try (watchService) {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
                     }
-                    
-                    loaded.validateAndInitialize();
-                    
-                    INSTANCE = loaded;
-                    XPExtractor.LOGGER.info("Loaded XP Extractor configuration from: " + CONFIG_PATH);
-                } catch (JsonParseException e) {
-                    XPExtractor.LOGGER.error("Failed to parse config file: " + e.getMessage());
-                    XPExtractor.LOGGER.error("Using default configuration instead");
-                    createDefaultConfig();
                 }
-            } else {
-                createDefaultConfig();
+                key.reset();
+                
+                if (changed) {
+                    // Editors often save in several steps; let them finish before parsing
+                    Thread.sleep(RELOAD_SETTLE_MILLIS);
+                    // Keys signalled in the meantime must be reset too, or they are never queued again
+                    for (WatchKey pending; (pending = watchService.poll()) != null; ) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    reload(path);
+                }
             }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
         } catch (IOException e) {
-            XPExtractor.LOGGER.error("Failed to load config: " + e.getMessage(), e);
-            XPExtractor.LOGGER.error("Using default configuration instead");
-            
-            INSTANCE = new ModConfig();
-            INSTANCE.validateAndInitialize();
-        } finally {
-            IS_LOADING.set(false);
+            XPExtractor.LOGGER.error("Config watcher stopped", e);
         }
     }
     
-    private static void createDefaultConfig() throws IOException {
-        INSTANCE = new ModConfig();
-        INSTANCE.validateAndInitialize();
-        saveConfig();
-        XPExtractor.LOGGER.info("Created default XP Extractor configuration at: " + CONFIG_PATH);
+    private static synchronized void reload(Path path) {
+        try {
+            if (!Files.exists(path)) {
+                return;
+            }
+            ModConfig loaded = read(path);
+            if (GSON.toJson(loaded).equals(GSON.toJson(current))) {
+                return;
+            }
+            publish(loaded);
+            XPExtractor.LOGGER.info("Reloaded XP Extractor configuration from: " + path);
+        } catch (IOException | JsonParseException e) {
+            XPExtractor.LOGGER.error("Failed to reload config, keeping the previous one: " + e.getMessage());
+        }
     }
     
-    public static void saveConfig() {
-        try {
-            Files.createDirectories(CONFIG_PATH.getParent());
-            try (Writer writer = Files.newBufferedWriter(CONFIG_PATH)) {
-                GSON.toJson(INSTANCE, writer);
-                XPExtractor.LOGGER.info("Saved XP Extractor configuration to: " + CONFIG_PATH);
+    private static ModConfig read(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path)) {
+            ModConfig loaded = GSON.fromJson(reader, ModConfig.class);
+            if (loaded == null) {
+                throw new JsonParseException("Config file parsed as null");
+            }
+            return loaded.validate();
+        }
+    }
+    
+    private static void publish(ModConfig config) {
+        current = config;
+        for (Consumer<ModConfig> listener : LISTENERS) {
+            try {
+                listener.accept(config);
+            } catch (Exception e) {
+                XPExtractor.LOGGER.error("Config listener failed", e);
             }
-        } catch (IOException e) {
-            XPExtractor.LOGGER.error("Failed to save config: " + e.getMessage(), e);
-            XPExtractor.LOGGER.error("Config path: " + CONFIG_PATH);
         }
     }
     
-    private void validateAndInitialize() {
-        setXpBottlesPerExtraction(xpBottlesPerExtraction);
-        setCooldownTicks(cooldownTicks);
-        setMaxExtractionsPerUse(maxExtractionsPerUse);
-        setMaxDurability(maxDurability);
-        setRepairAmountPerBottle(repairAmountPerBottle);
+    private ModConfig validate() {
+        xpBottlesPerExtraction = Math.max(1, Math.min(ExtractionProfile.MAX_BOTTLES_PER_EXTRACTION, xpBottlesPerExtraction));
+        cooldownTicks = Math.max(0, cooldownTicks);
+        maxExtractionsPerUse = Math.max(1, maxExtractionsPerUse);
+        maxDurability = Math.max(1, maxDurability);
+        repairAmountPerBottle = Math.max(1, repairAmountPerBottle);
+        maxEffectIntensityPerArea = Math.max(1, maxEffectIntensityPerArea);
+        holdTicksPerExtraction = Math.max(1, holdTicksPerExtraction);
+        holdCommitIntervalTicks = Math.max(1, holdCommitIntervalTicks);
+        extractionBurst = Math.max(1, Math.min(1000, extractionBurst));
+        extractionsPerSecond = Math.max(1, extractionsPerSecond);
+        recipeRecoveryWindowSeconds = Math.max(1, recipeRecoveryWindowSeconds);
+        vacuumRadius = Math.max(1, Math.min(32, vacuumRadius));
+        vacuumOrbsPerTick = Math.max(1, Math.min(1024, vacuumOrbsPerTick));
+        reservoirCapacity = Math.max(XpMath.POINTS_PER_EXTRACTION, Math.min(1_000_000_000_000_000L, reservoirCapacity));
+        reservoirBottlesPerTick = Math.max(1, Math.min(64, reservoirBottlesPerTick));
+        if (extractionMode == null) {
+            extractionMode = ExtractionMode.BOTTLES;
+        }
         
-        updateDerivedValues();
+        maxParticlesPerExtraction = Math.min(20, 5 + (5 * maxExtractionsPerUse));
+        compileProfiles();
+        return this;
     }
     
-    private void updateDerivedValues() {
-        this.maxParticlesPerExtraction = Math.min(20, 5 + (5 * maxExtractionsPerUse));
+    // Flattens default -> dimension -> permission layers into one table indexed by [dimension slot][tier];
+    // slot 0 is every dimension without its own profile, and each tier includes the overrides of lower tiers
+    private void compileProfiles() {
+        if (dimensionProfiles == null) {
+            dimensionProfiles = new LinkedHashMap<>();
+        }
+        if (permissionProfiles == null) {
+            permissionProfiles = new LinkedHashMap<>();
+        }
+        
+        ProfileOverrides[] tierOverrides = new ProfileOverrides[PERMISSION_TIERS];
+        highestProfiledPermissionLevel = 0;
+        for (Map.Entry<String, ProfileOverrides> entry : permissionProfiles.entrySet()) {
+            int level;
+            try {
+                level = Integer.parseInt(entry.getKey().trim());
+            } catch (NumberFormatException e) {
+                level = -1;
+            }
+            if (level < 0 || level >= PERMISSION_TIERS || entry.getValue() == null) {
+                XPExtractor.LOGGER.warn("Ignoring permission profile '" + entry.getKey() + "': expected a permission level from 0 to 4");
+                continue;
+            }
+            tierOverrides[level] = entry.getValue();
+            highestProfiledPermissionLevel = Math.max(highestProfiledPermissionLevel, level);
+        }
+        
+        Map<String, Integer> slots = new HashMap<>();
+        List<ProfileOverrides> dimensionOverrides = new ArrayList<>();
+        dimensionOverrides.add(null);
+        for (Map.Entry<String, ProfileOverrides> entry : dimensionProfiles.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            String id = entry.getKey().contains(":") ? entry.getKey() : "minecraft:" + entry.getKey();
+            slots.put(id, dimensionOverrides.size());
+            dimensionOverrides.add(entry.getValue());
+        }
+        
+        ExtractionProfile base = new ExtractionProfile(xpBottlesPerExtraction, cooldownTicks, maxExtractionsPerUse);
+        ExtractionProfile[] table = new ExtractionProfile[dimensionOverrides.size() * PERMISSION_TIERS];
+        for (int slot = 0; slot < dimensionOverrides.size(); slot++) {
+            ProfileOverrides dimension = dimensionOverrides.get(slot);
+            ExtractionProfile profile = dimension != null ? dimension.applyTo(base) : base;
+            for (int tier = 0; tier < PERMISSION_TIERS; tier++) {
+                if (tierOverrides[tier] != null) {
+                    profile = tierOverrides[tier].applyTo(profile);
+                }
+                table[slot * PERMISSION_TIERS + tier] = profile;
+            }
+        }
+        
+        dimensionSlots = slots;
+        profileTable = table;
     }
     
     public int getXpBottlesPerExtraction() {
         return xpBottlesPerExtraction;
     }
     
-    public void setXpBottlesPerExtraction(int xpBottlesPerExtraction) {
-        this.xpBottlesPerExtraction = Math.max(1, xpBottlesPerExtraction);
-    }
-    
     public int getCooldownTicks() {
         return cooldownTicks;
     }
     
-    public void setCooldownTicks(int cooldownTicks) {
-        this.cooldownTicks = Math.max(0, cooldownTicks);
-    }
-    
     public int getMaxExtractionsPerUse() {
         return maxExtractionsPerUse;
     }
     
-    public void setMaxExtractionsPerUse(int maxExtractionsPerUse) {
-        this.maxExtractionsPerUse = Math.max(1, maxExtractionsPerUse);
-        updateDerivedValues();
-    }
-    
     public int getMaxDurability() {
         return maxDurability;
     }
     
-    public void setMaxDurability(int maxDurability) {
-        this.maxDurability = Math.max(1, maxDurability);
-    }
-    
     public int getRepairAmountPerBottle() {
         return repairAmountPerBottle;
     }
     
-    public void setRepairAmountPerBottle(int repairAmountPerBottle) {
-        this.repairAmountPerBottle = Math.max(1, repairAmountPerBottle);
+    public int getMaxEffectIntensityPerArea() {
+        return maxEffectIntensityPerArea;
+    }
+    
+    public boolean isHoldToExtract() {
+        return holdToExtract;
+    }
+    
+    public int getHoldTicksPerExtraction() {
+        return holdTicksPerExtraction;
+    }
+    
+    public int getHoldCommitIntervalTicks() {
+        return holdCommitIntervalTicks;
+    }
+    
+    public int getExtractionBurst() {
+        return extractionBurst;
+    }
+    
+    public int getExtractionsPerSecond() {
+        return extractionsPerSecond;
+    }
+    
+    public int getRecipeRecoveryWindowSeconds() {
+        return recipeRecoveryWindowSeconds;
+    }
+    
+    public ExtractionMode getExtractionMode() {
+        return extractionMode;
+    }
+    
+    public boolean isVacuumEnabled() {
+        return vacuumEnabled;
+    }
+    
+    public int getVacuumRadius() {
+        return vacuumRadius;
+    }
+    
+    public int getVacuumOrbsPerTick() {
+        return vacuumOrbsPerTick;
+    }
+    
+    public long getReservoirCapacity() {
+        return reservoirCapacity;
+    }
+    
+    public int getReservoirBottlesPerTick() {
+        return reservoirBottlesPerTick;
+    }
+    
+    public boolean isLedgerEnabled() {
+        return ledgerEnabled;
     }
     
     public int getMaxParticlesPerExtraction() {
         return maxParticlesPerExtraction;
     }
+    
+    public int getDimensionSlot(String dimensionId) {
+        return dimensionSlots.getOrDefault(dimensionId, 0);
+    }
+    
+    public int getHighestProfiledPermissionLevel() {
+        return highestProfiledPermissionLevel;
+    }
+    
+    public ExtractionProfile getProfile(int dimensionSlot, int permissionTier) {
+        return profileTable[dimensionSlot * PERMISSION_TIERS + permissionTier];
+    }
 }
\ No newline at end of file
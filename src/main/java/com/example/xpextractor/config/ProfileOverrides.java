@@ -0,0 +1,16 @@
+package com.example.xpextractor.config;
+
+// One layer of a profile as written in the config file; null fields inherit from the layer below
+public class ProfileOverrides {
+    private Integer xpBottlesPerExtraction;
+    private Integer cooldownTicks;
+    private Integer maxExtractionsPerUse;
+    
+    ExtractionProfile applyTo(ExtractionProfile base) {
+        return new ExtractionProfile(
+            xpBottlesPerExtraction != null ? xpBottlesPerExtraction : base.getXpBottlesPerExtraction(),
+            cooldownTicks != null ? cooldownTicks : base.getCooldownTicks(),
+            maxExtractionsPerUse != null ? maxExtractionsPerUse : base.getMaxExtractionsPerUse()
+        );
+    }
+}
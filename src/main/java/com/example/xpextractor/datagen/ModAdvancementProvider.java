@@ -0,0 +1,30 @@
+package com.example.xpextractor.datagen;
+
+import com.example.xpextractor.XPExtractor;
+import net.fabricmc.fabric.api.datagen.v1.FabricDataOutput;
+import net.fabricmc.fabric.api.datagen.v1.provider.FabricAdvancementProvider;
+import net.minecraft.advancement.Advancement;
+import net.minecraft.advancement.AdvancementEntry;
+import net.minecraft.advancement.AdvancementRewards;
+import net.minecraft.advancement.criterion.TickCriterion;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.Identifier;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+public class ModAdvancementProvider extends FabricAdvancementProvider {
+    public ModAdvancementProvider(FabricDataOutput output, CompletableFuture<RegistryWrapper.WrapperLookup> registryLookup) {
+        super(output, registryLookup);
+    }
+    
+    @Override
+    public void generateAdvancement(RegistryWrapper.WrapperLookup registryLookup, Consumer<AdvancementEntry> consumer) {
+        // The recipe provider already emits the inventory-triggered unlock; this one grants it on the first tick
+        Advancement.Builder.create()
+            .parent(Identifier.ofVanilla("recipes/root"))
+            .criterion("tick", TickCriterion.Conditions.createTick())
+            .rewards(AdvancementRewards.Builder.recipe(Identifier.of(XPExtractor.MOD_ID, "xp_extractor")))
+            .build(consumer, XPExtractor.MOD_ID + ":recipes/misc/xp_extractor_auto");
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.xpextractor.datagen;
+
+import com.example.xpextractor.registry.ModBlocks;
+import com.example.xpextractor.registry.ModComponents;
+import net.fabricmc.fabric.api.datagen.v1.FabricDataOutput;
+import net.fabricmc.fabric.api.datagen.v1.provider.FabricBlockLootTableProvider;
+import net.minecraft.loot.LootPool;
+import net.minecraft.loot.LootTable;
+import net.minecraft.loot.entry.ItemEntry;
+import net.minecraft.loot.function.CopyComponentsLootFunction;
+import net.minecraft.loot.provider.number.ConstantLootNumberProvider;
+import net.minecraft.registry.RegistryWrapper;
+
+import java.util.concurrent.CompletableFuture;
+
+public class ModBlockLootTableProvider extends FabricBlockLootTableProvider {
+    public ModBlockLootTableProvider(FabricDataOutput output, CompletableFuture<RegistryWrapper.WrapperLookup> registryLookup) {
+        super(output, registryLookup);
+    }
+    
+    @Override
+    public void generate() {
+        // The dropped reservoir keeps its stored XP
+        addDrop(ModBlocks.XP_RESERVOIR, LootTable.builder()
+            .pool(addSurvivesExplosionCondition(ModBlocks.XP_RESERVOIR, LootPool.builder()
+                .rolls(ConstantLootNumberProvider.create(1.0f))
+                .with(ItemEntry.builder(ModBlocks.XP_RESERVOIR)
+                    .apply(CopyComponentsLootFunction.builder(CopyComponentsLootFunction.Source.BLOCK_ENTITY)
+                        .include(ModComponents.STORED_XP))))));
+    }
+}
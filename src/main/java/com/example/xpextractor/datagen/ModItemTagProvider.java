@@ -0,0 +1,21 @@
+package com.example.xpextractor.datagen;
+
+import com.example.xpextractor.registry.ModRecipes;
+import net.fabricmc.fabric.api.datagen.v1.FabricDataOutput;
+import net.fabricmc.fabric.api.datagen.v1.provider.FabricTagProvider;
+import net.minecraft.item.Items;
+import net.minecraft.registry.RegistryWrapper;
+
+import java.util.concurrent.CompletableFuture;
+
+public class ModItemTagProvider extends FabricTagProvider.ItemTagProvider {
+    public ModItemTagProvider(FabricDataOutput output, CompletableFuture<RegistryWrapper.WrapperLookup> registriesFuture) {
+        super(output, registriesFuture);
+    }
+    
+    @Override
+    protected void configure(RegistryWrapper.WrapperLookup registries) {
+        getOrCreateTagBuilder(ModRecipes.XP_BOTTLE_TAG)
+            .add(Items.EXPERIENCE_BOTTLE);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.xpextractor.datagen;
+
+import com.example.xpextractor.registry.ModBlocks;
+import com.example.xpextractor.registry.ModItems;
+import net.fabricmc.fabric.api.datagen.v1.FabricDataOutput;
+import net.fabricmc.fabric.api.datagen.v1.provider.FabricRecipeProvider;
+import net.minecraft.data.server.recipe.RecipeExporter;
+import net.minecraft.data.server.recipe.ShapedRecipeJsonBuilder;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.book.RecipeCategory;
+import net.minecraft.registry.RegistryWrapper;
+
+import java.util.concurrent.CompletableFuture;
+
+public class ModRecipeProvider extends FabricRecipeProvider {
+    public ModRecipeProvider(FabricDataOutput output, CompletableFuture<RegistryWrapper.WrapperLookup> registriesFuture) {
+        super(output, registriesFuture);
+    }
+    
+    @Override
+    public void generate(RecipeExporter exporter) {
+        ShapedRecipeJsonBuilder.create(RecipeCategory.MISC, ModItems.XP_EXTRACTOR)
+            .pattern("EEE")
+            .pattern("ELE")
+            .pattern("EEE")
+            .input('E', Items.EXPERIENCE_BOTTLE)
+            .input('L', Items.LODESTONE)
+            .group("xp_tools")
+            .criterion(hasItem(Items.EXPERIENCE_BOTTLE), conditionsFromItem(Items.EXPERIENCE_BOTTLE))
+            .offerTo(exporter);
+        
+        ShapedRecipeJsonBuilder.create(RecipeCategory.MISC, ModBlocks.XP_RESERVOIR)
+            .pattern("IGI")
+            .pattern("GXG")
+            .pattern("III")
+            .input('I', Items.IRON_INGOT)
+            .input('G', Items.GLASS)
+            .input('X', ModItems.XP_EXTRACTOR)
+            .group("xp_tools")
+            .criterion(hasItem(ModItems.XP_EXTRACTOR), conditionsFromItem(ModItems.XP_EXTRACTOR))
+            .offerTo(exporter);
+    }
+}
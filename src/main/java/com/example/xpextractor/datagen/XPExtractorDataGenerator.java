@@ -0,0 +1,16 @@
+package com.example.xpextractor.datagen;
+
+import net.fabricmc.fabric.api.datagen.v1.DataGeneratorEntrypoint;
+import net.fabricmc.fabric.api.datagen.v1.FabricDataGenerator;
+
+public class XPExtractorDataGenerator implements DataGeneratorEntrypoint {
+    @Override
+    public void onInitializeDataGenerator(FabricDataGenerator generator) {
+        FabricDataGenerator.Pack pack = generator.createPack();
+        
+        pack.addProvider(ModRecipeProvider::new);
+        pack.addProvider(ModItemTagProvider::new);
+        pack.addProvider(ModAdvancementProvider::new);
+        pack.addProvider(ModBlockLootTableProvider::new);
+    }
+}
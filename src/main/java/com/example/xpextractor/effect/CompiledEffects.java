@@ -0,0 +1,212 @@
+package com.example.xpextractor.effect;
+
+import net.minecraft.particle.DustParticleEffect;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.util.math.random.Random;
+import org.joml.Vector3f;
+
+public final class CompiledEffects {
+    private static final float[] FALLBACK_COLOR = {0.3f, 0.8f, 0.3f};
+
+    private final int spiralPoints;
+    private final int spiralMaxParticles;
+    // x, y, z offsets per spiral point, relative to the user's feet
+    private final float[] spiralOffsets;
+    private final float[] mirrorOffsets;
+    private final int[] spiralPalette;
+    private final int[] mirrorPalette;
+    private final DustParticleEffect[] palette;
+
+    private final int ringBase;
+    private final int ringPerExtraction;
+    private final int ringMax;
+    private final int ringDustEvery;
+    private final int ringDirections;
+    // sin, cos per direction
+    private final float[] ringUnitCircle;
+    private final float ringMinDistance;
+    private final float ringDistanceRange;
+    private final float ringMinHeight;
+    private final float ringHeightRange;
+    private final float ringPull;
+    private final DustParticleEffect ringDust;
+
+    private final int sparkleBase;
+    private final int sparklesPerExtraction;
+    private final int maxSparkles;
+    private final float sparkleSpread;
+    private final int witchBursts;
+    private final int endRodsPerExtraction;
+
+    private final int failureSmoke;
+    private final int failureCrit;
+    private final int failureDustCount;
+    private final DustParticleEffect failureDust;
+
+    CompiledEffects(EffectPresets presets) {
+        EffectPresets.Spiral spiral = presets.extraction.spiral;
+        float[][] colors = spiral.colors != null && spiral.colors.length > 0 ? spiral.colors : new float[][] {FALLBACK_COLOR};
+        int sizeSteps = Math.max(1, spiral.sizeSteps);
+
+        this.spiralPoints = Math.max(1, spiral.points);
+        this.spiralMaxParticles = Math.max(0, spiral.maxParticles);
+        this.spiralOffsets = new float[spiralPoints * 3];
+        this.mirrorOffsets = new float[spiralPoints * 3];
+        this.spiralPalette = new int[spiralPoints];
+        this.mirrorPalette = new int[spiralPoints];
+
+        int mirrorBase = colors.length * sizeSteps;
+        this.palette = new DustParticleEffect[mirrorBase * 2];
+        for (int color = 0; color < colors.length; color++) {
+            Vector3f rgb = toColor(colors[color]);
+            for (int step = 0; step < sizeSteps; step++) {
+                float size = spiral.minSize + (spiral.maxSize - spiral.minSize) * (step + 0.5f) / sizeSteps;
+                palette[color * sizeSteps + step] = new DustParticleEffect(rgb, size);
+                palette[mirrorBase + color * sizeSteps + step] = new DustParticleEffect(rgb, size * spiral.mirrorSizeScale);
+            }
+        }
+
+        for (int i = 0; i < spiralPoints; i++) {
+            double progress = (double) i / spiralPoints;
+            double angle = progress * Math.PI * 2 * spiral.turns;
+            double radius = spiral.radius * (1 - progress * spiral.radiusFalloff);
+            double sin = Math.sin(angle) * radius;
+            double cos = Math.cos(angle) * radius;
+
+            spiralOffsets[i * 3] = (float) sin;
+            spiralOffsets[i * 3 + 1] = (float) (spiral.top - progress * spiral.drop);
+            spiralOffsets[i * 3 + 2] = (float) cos;
+
+            mirrorOffsets[i * 3] = (float) -sin;
+            mirrorOffsets[i * 3 + 1] = (float) (spiral.mirrorBase + progress * spiral.mirrorRise);
+            mirrorOffsets[i * 3 + 2] = (float) -cos;
+
+            int step = Math.min(sizeSteps - 1, (int) (progress * sizeSteps));
+            int paletteIndex = (i % colors.length) * sizeSteps + step;
+            spiralPalette[i] = paletteIndex;
+            mirrorPalette[i] = mirrorBase + paletteIndex;
+        }
+
+        EffectPresets.Ring ring = presets.extraction.ring;
+        this.ringBase = Math.max(0, ring.baseParticles);
+        this.ringPerExtraction = Math.max(0, ring.particlesPerExtraction);
+        this.ringMax = Math.max(0, ring.maxParticles);
+        this.ringDustEvery = Math.max(1, ring.dustEvery);
+        this.ringDirections = Math.max(1, ring.directions);
+        this.ringUnitCircle = new float[ringDirections * 2];
+        for (int i = 0; i < ringDirections; i++) {
+            double angle = Math.PI * 2 * i / ringDirections;
+            ringUnitCircle[i * 2] = (float) Math.sin(angle);
+            ringUnitCircle[i * 2 + 1] = (float) Math.cos(angle);
+        }
+        this.ringMinDistance = ring.minDistance;
+        this.ringDistanceRange = Math.max(0.0f, ring.maxDistance - ring.minDistance);
+        this.ringMinHeight = ring.minHeight;
+        this.ringHeightRange = Math.max(0.0f, ring.maxHeight - ring.minHeight);
+        this.ringPull = ring.pull;
+        this.ringDust = new DustParticleEffect(toColor(ring.dustColor), ring.dustSize);
+
+        EffectPresets.Burst burst = presets.extraction.burst;
+        this.sparkleBase = Math.max(0, burst.sparkleBase);
+        this.sparklesPerExtraction = Math.max(0, burst.sparklesPerExtraction);
+        this.maxSparkles = Math.max(0, burst.maxSparkles);
+        this.sparkleSpread = burst.sparkleSpread;
+        this.witchBursts = Math.max(0, burst.witchBursts);
+        this.endRodsPerExtraction = Math.max(0, burst.endRodsPerExtraction);
+
+        EffectPresets.Failure failure = presets.failure;
+        this.failureSmoke = Math.max(0, failure.smoke);
+        this.failureCrit = Math.max(0, failure.crit);
+        this.failureDustCount = Math.max(0, failure.dust);
+        this.failureDust = new DustParticleEffect(toColor(failure.dustColor), failure.dustSize);
+    }
+
+    private static Vector3f toColor(float[] rgb) {
+        if (rgb == null || rgb.length < 3) {
+            rgb = FALLBACK_COLOR;
+        }
+        return new Vector3f(rgb[0], rgb[1], rgb[2]);
+    }
+
+    public void emitExtraction(ExtractionEffects.Sink sink, Random random, double x, double y, double z,
+                               double handX, double handY, double handZ,
+                               int extractionCount, int particlesPerExtraction, int detail) {
+        int spiralSamples = ExtractionEffects.scaled(Math.min(spiralMaxParticles, extractionCount * particlesPerExtraction), detail) / 2;
+        for (int i = 0; i < spiralSamples; i++) {
+            int point = (int) ((long) i * spiralPoints / spiralSamples);
+            int offset = point * 3;
+
+            sink.spawn(
+                palette[spiralPalette[point]],
+                x + spiralOffsets[offset], y + spiralOffsets[offset + 1], z + spiralOffsets[offset + 2],
+                1,
+                0.02, 0.02, 0.02,
+                0.01
+            );
+
+            if (i % 2 == 0) {
+                sink.spawn(
+                    palette[mirrorPalette[point]],
+                    x + mirrorOffsets[offset], y + mirrorOffsets[offset + 1], z + mirrorOffsets[offset + 2],
+                    1,
+                    0.02, 0.02, 0.02,
+                    0.01
+                );
+            }
+        }
+
+        int ringParticles = ExtractionEffects.scaled(Math.min(ringMax, ringBase + extractionCount * ringPerExtraction), detail);
+        for (int i = 0; i < ringParticles; i++) {
+            int direction = random.nextInt(ringDirections) * 2;
+            double distance = ringMinDistance + random.nextFloat() * ringDistanceRange;
+            double height = ringMinHeight + random.nextFloat() * ringHeightRange;
+
+            double px = x + ringUnitCircle[direction] * distance;
+            double pz = z + ringUnitCircle[direction + 1] * distance;
+            double py = y + height;
+
+            double vx = (handX - px) * ringPull;
+            double vy = (handY - py) * ringPull;
+            double vz = (handZ - pz) * ringPull;
+
+            if (i % ringDustEvery == 0) {
+                sink.spawn(ringDust, px, py, pz, 1, vx * 0.2, vy * 0.2, vz * 0.2, 0.05);
+            } else {
+                sink.spawn(ParticleTypes.ENCHANT, px, py, pz, 1, vx, vy, vz, 0.05);
+            }
+        }
+
+        int sparkles = ExtractionEffects.scaled(Math.min(maxSparkles, sparkleBase + extractionCount * sparklesPerExtraction), detail);
+        for (int i = 0; i < sparkles; i++) {
+            sink.spawn(
+                ParticleTypes.HAPPY_VILLAGER,
+                x + random.nextGaussian() * sparkleSpread,
+                y + 0.8 + random.nextGaussian() * sparkleSpread,
+                z + random.nextGaussian() * sparkleSpread,
+                1, 0, 0, 0, 0
+            );
+        }
+
+        int bursts = ExtractionEffects.scaled(witchBursts, detail);
+        for (int i = 0; i < bursts; i++) {
+            sink.spawn(ParticleTypes.WITCH, handX, handY, handZ, 3, 0.07, 0.07, 0.07, 0.01);
+        }
+
+        int endRods = ExtractionEffects.scaled(extractionCount * endRodsPerExtraction, detail);
+        if (endRods > 0) {
+            sink.spawn(ParticleTypes.END_ROD, handX, handY, handZ, endRods, 0.2, 0.2, 0.2, 0.05);
+        }
+    }
+
+    public void emitFailure(ExtractionEffects.Sink sink, double handX, double handY, double handZ) {
+        if (failureSmoke > 0) {
+            sink.spawn(ParticleTypes.SMOKE, handX, handY, handZ, failureSmoke, 0.05, 0.05, 0.05, 0.02);
+        }
+        if (failureCrit > 0) {
+            sink.spawn(ParticleTypes.CRIT, handX, handY, handZ, failureCrit, 0.1, 0.1, 0.1, 0.05);
+        }
+        if (failureDustCount > 0) {
+            sink.spawn(failureDust, handX, handY, handZ, failureDustCount, 0.1, 0.1, 0.1, 0.01);
+        }
+    }
+}
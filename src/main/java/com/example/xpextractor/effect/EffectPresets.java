@@ -0,0 +1,88 @@
+package com.example.xpextractor.effect;
+
+public class EffectPresets {
+    public Extraction extraction = new Extraction();
+    public Failure failure = new Failure();
+
+    public static EffectPresets defaults() {
+        return new EffectPresets();
+    }
+
+    public CompiledEffects compile() {
+        if (extraction == null) {
+            extraction = new Extraction();
+        }
+        if (extraction.spiral == null) {
+            extraction.spiral = new Spiral();
+        }
+        if (extraction.ring == null) {
+            extraction.ring = new Ring();
+        }
+        if (extraction.burst == null) {
+            extraction.burst = new Burst();
+        }
+        if (failure == null) {
+            failure = new Failure();
+        }
+        return new CompiledEffects(this);
+    }
+
+    public static class Extraction {
+        public Spiral spiral = new Spiral();
+        public Ring ring = new Ring();
+        public Burst burst = new Burst();
+    }
+
+    public static class Spiral {
+        public int points = 75;
+        public int maxParticles = 150;
+        public float turns = 6.0f;
+        public float radius = 2.0f;
+        public float radiusFalloff = 0.8f;
+        public float top = 2.5f;
+        public float drop = 2.0f;
+        public float mirrorBase = 0.1f;
+        public float mirrorRise = 1.0f;
+        public float minSize = 0.7f;
+        public float maxSize = 1.3f;
+        public float mirrorSizeScale = 0.8f;
+        public int sizeSteps = 8;
+        public float[][] colors = {
+            {0.4f, 1.0f, 0.4f},
+            {0.3f, 0.8f, 0.3f},
+            {0.2f, 0.6f, 0.2f}
+        };
+    }
+
+    public static class Ring {
+        public int directions = 64;
+        public int baseParticles = 10;
+        public int particlesPerExtraction = 4;
+        public int maxParticles = 30;
+        public float minDistance = 1.0f;
+        public float maxDistance = 2.0f;
+        public float minHeight = 0.5f;
+        public float maxHeight = 2.0f;
+        public float pull = 0.1f;
+        public int dustEvery = 4;
+        public float[] dustColor = {0.5f, 0.2f, 0.9f};
+        public float dustSize = 0.7f;
+    }
+
+    public static class Burst {
+        public int sparkleBase = 5;
+        public int sparklesPerExtraction = 2;
+        public int maxSparkles = 15;
+        public float sparkleSpread = 0.3f;
+        public int witchBursts = 12;
+        public int endRodsPerExtraction = 3;
+    }
+
+    public static class Failure {
+        public int smoke = 8;
+        public int crit = 5;
+        public int dust = 6;
+        public float[] dustColor = {0.8f, 0.1f, 0.1f};
+        public float dustSize = 1.0f;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.xpextractor.effect;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.config.ModConfig;
+import com.example.xpextractor.jfr.EffectBurstEvent;
+import com.example.xpextractor.metrics.XpMetrics;
+import com.example.xpextractor.network.ExtractionFeedbackPayload;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ExtractionEffectCoalescer {
+    private static final Map<ServerWorld, Long2ObjectMap<Cluster>> PENDING = new IdentityHashMap<>();
+    
+    public static void register() {
+        ServerTickEvents.END_WORLD_TICK.register(ExtractionEffectCoalescer::flush);
+        ServerWorldEvents.UNLOAD.register((server, world) -> PENDING.remove(world));
+    }
+    
+    public static void enqueue(ServerWorld world, ServerPlayerEntity player, float handOffsetX, float handOffsetY, float handOffsetZ,
+                               int extractionCount, int particleDensity, ExtractionFeedbackPayload.Result result,
+                               long xpCost, int bottles) {
+        long section = ChunkSectionPos.asLong(
+            ChunkSectionPos.getSectionCoord(player.getBlockX()),
+            ChunkSectionPos.getSectionCoord(player.getBlockY()),
+            ChunkSectionPos.getSectionCoord(player.getBlockZ())
+        );
+        
+        Long2ObjectMap<Cluster> clusters = PENDING.computeIfAbsent(world, w -> new Long2ObjectOpenHashMap<>());
+        Cluster cluster = clusters.get(section);
+        if (cluster == null) {
+            cluster = new Cluster(handOffsetX, handOffsetY, handOffsetZ);
+            clusters.put(section, cluster);
+        }
+        
+        cluster.sumX += player.getX();
+        cluster.sumY += player.getY();
+        cluster.sumZ += player.getZ();
+        cluster.extractions += extractionCount;
+        cluster.particleDensity = Math.max(cluster.particleDensity, particleDensity);
+        cluster.contributions.add(new Contribution(player, result, xpCost, bottles));
+    }
+    
+    private static void flush(ServerWorld world) {
+        Long2ObjectMap<Cluster> clusters = PENDING.get(world);
+        if (clusters == null || clusters.isEmpty()) {
+            return;
+        }
+        
+        int budget = ModConfig.getInstance().getMaxEffectIntensityPerArea();
+        for (Cluster cluster : clusters.values()) {
+            try {
+                emit(world, cluster, budget);
+            } catch (Exception e) {
+                XPExtractor.LOGGER.warn("Failed to send coalesced extraction feedback", e);
+            }
+        }
+        clusters.clear();
+    }
+    
+    private static void emit(ServerWorld world, Cluster cluster, int budget) {
+        EffectBurstEvent event = new EffectBurstEvent();
+        event.begin();
+        int contributors = cluster.contributions.size();
+        double x = cluster.sumX / contributors;
+        double y = cluster.sumY / contributors;
+        double z = cluster.sumZ / contributors;
+        
+        ExtractionFeedbackPayload payload = new ExtractionFeedbackPayload(
+            -1,
+            x, y, z,
+            cluster.handOffsetX, cluster.handOffsetY, cluster.handOffsetZ,
+            Math.min(budget, cluster.extractions),
+            cluster.particleDensity,
+            ExtractionEffects.DETAIL_FULL,
+            contributors,
+            world.getRandom().nextLong(),
+            ExtractionFeedbackPayload.Result.SUCCESS,
+            0L,
+            0
+        );
+        
+        // Users first so each of them gets the copy carrying their own totals for the action bar
+        Set<ServerPlayerEntity> sent = new ReferenceOpenHashSet<>();
+        for (Contribution contribution : cluster.contributions) {
+            if (sent.add(contribution.player())) {
+                ServerPlayNetworking.send(
+                    contribution.player(),
+                    payload.forUser(contribution.player().getId(), contribution.result(), contribution.xpCost(), contribution.bottles())
+                );
+                XpMetrics.EFFECT_PACKETS_SENT.increment();
+            }
+        }
+        
+        for (Contribution contribution : cluster.contributions) {
+            for (ServerPlayerEntity viewer : PlayerLookup.tracking(contribution.player())) {
+                if (sent.add(viewer)) {
+                    int detail = ExtractionEffects.detailForDistance(viewer.squaredDistanceTo(x, y, z));
+                    ServerPlayNetworking.send(viewer, payload.withDetail(detail));
+                    XpMetrics.EFFECT_PACKETS_SENT.increment();
+                }
+            }
+        }
+        
+        if (event.shouldCommit()) {
+            event.result = payload.result().name();
+            event.contributors = contributors;
+            event.extractions = payload.extractionCount();
+            event.particles = payload.extractionCount() * payload.particleDensity();
+            event.packets = sent.size();
+            event.commit();
+        }
+    }
+    
+    private static final class Cluster {
+        private final List<Contribution> contributions = new ArrayList<>(2);
+        private final float handOffsetX;
+        private final float handOffsetY;
+        private final float handOffsetZ;
+        private double sumX;
+        private double sumY;
+        private double sumZ;
+        private int extractions;
+        private int particleDensity;
+        
+        private Cluster(float handOffsetX, float handOffsetY, float handOffsetZ) {
+            this.handOffsetX = handOffsetX;
+            this.handOffsetY = handOffsetY;
+            this.handOffsetZ = handOffsetZ;
+        }
+    }
+    
+    private record Contribution(ServerPlayerEntity player, ExtractionFeedbackPayload.Result result, long xpCost, int bottles) {
+    }
+}
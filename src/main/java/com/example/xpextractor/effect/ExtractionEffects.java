@@ -0,0 +1,50 @@
+package com.example.xpextractor.effect;
+
+import net.minecraft.particle.ParticleEffect;
+
+public final class ExtractionEffects {
+    public static final int DETAIL_FULL = 0;
+    public static final int DETAIL_REDUCED = 1;
+    public static final int DETAIL_MINIMAL = 2;
+    private static final float[] DETAIL_SCALE = {1.0f, 0.35f, 0.1f};
+
+    private static volatile CompiledEffects current;
+
+    @FunctionalInterface
+    public interface Sink {
+        void spawn(ParticleEffect effect, double x, double y, double z, int count, double deltaX, double deltaY, double deltaZ, double speed);
+    }
+
+    private ExtractionEffects() {
+    }
+
+    public static CompiledEffects current() {
+        CompiledEffects effects = current;
+        if (effects == null) {
+            effects = EffectPresets.defaults().compile();
+            current = effects;
+        }
+        return effects;
+    }
+
+    public static void install(CompiledEffects effects) {
+        current = effects;
+    }
+
+    public static int detailForDistance(double squaredDistance) {
+        if (squaredDistance <= 16 * 16) {
+            return DETAIL_FULL;
+        } else if (squaredDistance <= 32 * 32) {
+            return DETAIL_REDUCED;
+        }
+        return DETAIL_MINIMAL;
+    }
+
+    static int scaled(int count, int detail) {
+        if (detail <= DETAIL_FULL || count <= 0) {
+            return count;
+        }
+        float scale = DETAIL_SCALE[Math.min(detail, DETAIL_SCALE.length - 1)];
+        return Math.max(1, (int) (count * scale));
+    }
+}
@@ -1,158 +1,152 @@
 package com.example.xpextractor.fabric;
 
 import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.jfr.DataReloadEvent;
+import com.example.xpextractor.metrics.XpMetrics;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
 import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
-import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
-import net.minecraft.recipe.RecipeManager;
+import net.minecraft.resource.Resource;
 import net.minecraft.resource.ResourceManager;
 import net.minecraft.resource.ResourceType;
 import net.minecraft.util.Identifier;
-import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.text.Text;
+import net.minecraft.util.profiler.Profiler;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.BufferedReader;
-import java.nio.charset.StandardCharsets;
-import java.util.Set;
-import java.util.List;
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.function.Predicate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Validates the mod's data files on reload: discovery and parsing happen in parallel on the worker
+// executor, and only the summary is handed to the main thread
+public class JsonResourceHook implements IdentifiableResourceReloadListener {
+    // Every data file the mod ships; looked up by ID, since listing a directory walks every namespace in every pack
+    private static final List<Identifier> EXPECTED = List.of(
+        Identifier.of(XPExtractor.MOD_ID, "recipe/xp_extractor.json"),
+        Identifier.of(XPExtractor.MOD_ID, "recipe/xp_reservoir.json"),
+        Identifier.of(XPExtractor.MOD_ID, "advancement/recipes/misc/xp_extractor.json"),
+        Identifier.of(XPExtractor.MOD_ID, "advancement/recipes/misc/xp_extractor_auto.json"),
+        Identifier.of(XPExtractor.MOD_ID, "advancement/recipes/misc/xp_reservoir.json"),
+        Identifier.of(XPExtractor.MOD_ID, "tags/item/experience_containers.json"),
+        Identifier.of(XPExtractor.MOD_ID, "loot_table/blocks/xp_reservoir.json")
+    );
 
-public class JsonResourceHook {
-    
-    private static boolean hasCheckedRecipes = false;
-    
     public static void register() {
-        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new RecipeReloadListener());
-        XPExtractor.LOGGER.info("Registered enhanced recipe reload listener");
+        ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new JsonResourceHook());
+        XPExtractor.LOGGER.info("Registered XP Extractor data validation listener");
+    }
+
+    @Override
+    public Identifier getFabricId() {
+        return Identifier.of(XPExtractor.MOD_ID, "data_validation");
+    }
+
+    @Override
+    public CompletableFuture<Void> reload(Synchronizer synchronizer, ResourceManager manager, Profiler prepareProfiler,
+                                          Profiler applyProfiler, Executor prepareExecutor, Executor applyExecutor) {
+        // Timed end to end, including the wait for the other listeners to finish preparing
+        long start = System.nanoTime();
+        DataReloadEvent event = new DataReloadEvent();
+        event.begin();
+        return CompletableFuture.supplyAsync(() -> collect(manager), prepareExecutor)
+            .thenCompose(resources -> validateAll(resources, prepareExecutor))
+            .thenCompose(synchronizer::whenPrepared)
+            .thenAcceptAsync(summary -> {
+                apply(summary, applyProfiler);
+                XpMetrics.DATA_VALIDATION_RELOAD_TIME.recordSince(start);
+                if (event.shouldCommit()) {
+                    event.listener = getFabricId().toString();
+                    event.filesChecked = summary.checked();
+                    event.problems = summary.problems().size();
+                    event.commit();
+                }
+            }, applyExecutor);
     }
-    
-    private static class RecipeReloadListener implements SimpleSynchronousResourceReloadListener {
-        @Override
-        public Identifier getFabricId() {
-            return Identifier.of(XPExtractor.MOD_ID, "recipe_listener");
+
+    private static Map<Identifier, Optional<Resource>> collect(ResourceManager manager) {
+        Map<Identifier, Optional<Resource>> resources = new LinkedHashMap<>();
+        for (Identifier id : EXPECTED) {
+            resources.put(id, manager.getResource(id));
         }
-        
-        @Override
-        public void reload(ResourceManager manager) {
-            XPExtractor.LOGGER.info("Server resources reloading - checking for XP Extractor recipes...");
-            
-            List<String> recipeVariants = new ArrayList<>();
-            recipeVariants.add("xp_extractor.json");
-            
-            List<String> namespaces = new ArrayList<>();
-            namespaces.add(XPExtractor.MOD_ID);
-            namespaces.add("minecraft");
-            
-            for (String namespace : namespaces) {
-                for (String recipeFile : recipeVariants) {
-                    checkSpecificRecipe(manager, namespace + ":recipes/" + recipeFile);
+        return resources;
+    }
+
+    private static CompletableFuture<Summary> validateAll(Map<Identifier, Optional<Resource>> resources, Executor executor) {
+        List<CompletableFuture<String>> checks = new ArrayList<>(resources.size());
+        for (Map.Entry<Identifier, Optional<Resource>> entry : resources.entrySet()) {
+            Identifier id = entry.getKey();
+            Optional<Resource> resource = entry.getValue();
+            checks.add(resource.isPresent()
+                ? CompletableFuture.supplyAsync(() -> validate(id, resource.get()), executor)
+                : CompletableFuture.completedFuture(id + ": missing"));
+        }
+
+        return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            List<String> problems = new ArrayList<>();
+            for (CompletableFuture<String> check : checks) {
+                String problem = check.join();
+                if (problem != null) {
+                    problems.add(problem);
                 }
             }
-            
-            checkForResources(manager, "recipes", id -> 
-                (id.getPath().contains("xp_extractor") || id.getNamespace().equals(XPExtractor.MOD_ID)) && 
-                id.getPath().endsWith(".json")
-            );
-            
-            checkForResources(manager, "advancements", id -> 
-                id.getPath().contains("recipes") && 
-                (id.getPath().contains("xp_extractor") || id.getNamespace().equals(XPExtractor.MOD_ID)) && 
-                id.getPath().endsWith(".json")
-            );
-            
-            hasCheckedRecipes = true;
+            return new Summary(checks.size(), problems);
+        });
+    }
+
+    // Returns null when the file is valid, otherwise a description of the problem
+    private static String validate(Identifier id, Resource resource) {
+        JsonElement json;
+        try (Reader reader = resource.getReader()) {
+            json = JsonParser.parseReader(reader);
+        } catch (Exception e) {
+            return id + ": unreadable (" + e.getMessage() + ")";
         }
-        
-        private void checkForResources(ResourceManager manager, String prefix, Predicate<Identifier> filter) {
-            var resources = manager.findResources(prefix, filter);
-            
-            if (resources.isEmpty()) {
-                XPExtractor.LOGGER.warn("No " + prefix + " resources found matching the filter!");
-            } else {
-                XPExtractor.LOGGER.info("Found XP Extractor " + prefix + " resources: " + resources.size());
-                for (var entry : resources.entrySet()) {
-                    XPExtractor.LOGGER.info("Resource: " + entry.getKey());
-                    
-                    try (InputStream stream = manager.getResource(entry.getKey()).get().getInputStream()) {
-                        int size = stream.available();
-                        XPExtractor.LOGGER.info("  - Size: " + size + " bytes");
-                        
-                        if (entry.getKey().getPath().contains("xp_extractor") && size < 2000) {
-                            try (BufferedReader reader = new BufferedReader(
-                                    new InputStreamReader(manager.getResource(entry.getKey()).get().getInputStream(), StandardCharsets.UTF_8))) {
-                                String content = reader.lines().collect(java.util.stream.Collectors.joining("\n"));
-                                XPExtractor.LOGGER.debug("  - Full content: " + content);
-                                
-                                boolean hasResult = content.contains("\"result\"");
-                                boolean hasItem = content.contains("\"item\"");
-                                boolean hasXpExtractor = content.contains("xp_extractor");
-                                boolean hasExperienceBottle = content.contains("experience_bottle");
-                                
-                                XPExtractor.LOGGER.info("  - Recipe validation: " +
-                                    "Has result: " + hasResult + ", " +
-                                    "Has item: " + hasItem + ", " +
-                                    "References xp_extractor: " + hasXpExtractor + ", " +
-                                    "References experience_bottle: " + hasExperienceBottle);
-                            }
-                        }
-                    } catch (Exception e) {
-                        XPExtractor.LOGGER.error("  - Failed to read resource content: " + e.getMessage());
-                    }
-                }
+
+        if (!json.isJsonObject()) {
+            return id + ": not a JSON object";
+        }
+        JsonObject object = json.getAsJsonObject();
+
+        String path = id.getPath();
+        if (path.startsWith("recipe/")) {
+            if (!object.has("type") || !object.has("result")) {
+                return id + ": recipe without type or result";
+            }
+        } else if (path.startsWith("advancement/")) {
+            if (!object.has("criteria")) {
+                return id + ": advancement without criteria";
+            }
+        } else if (path.startsWith("loot_table/")) {
+            if (!object.has("pools")) {
+                return id + ": loot table without pools";
+            }
+        } else if (path.startsWith("tags/")) {
+            if (!object.has("values")) {
+                return id + ": tag without values";
             }
         }
-        
-        private void checkSpecificRecipe(ResourceManager manager, String path) {
-            try {
-                String namespace, recipePath;
-                if (path.contains(":")) {
-                    String[] parts = path.split(":", 2);
-                    namespace = parts[0];
-                    recipePath = parts[1];
-                } else {
-                    namespace = "minecraft";
-                    recipePath = path;
-                }
-                
-                Identifier id = Identifier.of(namespace, recipePath);
-                var optional = manager.getResource(id);
-                
-                if (optional.isPresent()) {
-                    XPExtractor.LOGGER.info("✓ Found specific recipe: " + path);
-                    try (InputStream stream = optional.get().getInputStream()) {
-                        int size = stream.available();
-                        XPExtractor.LOGGER.info("  - Size: " + size + " bytes");
-                        
-                        if (size < 2000) {
-                            try (BufferedReader reader = new BufferedReader(
-                                    new InputStreamReader(optional.get().getInputStream(), StandardCharsets.UTF_8))) {
-                                String content = reader.lines().collect(java.util.stream.Collectors.joining("\n"));
-                                XPExtractor.LOGGER.debug("  - Full content: " + content);
-                                
-                                boolean hasResult = content.contains("\"result\"");
-                                boolean hasItem = content.contains("\"item\"");
-                                boolean hasXpExtractor = content.contains("xp_extractor");
-                                boolean hasExperienceBottle = content.contains("experience_bottle");
-                                
-                                XPExtractor.LOGGER.info("  - Recipe validation: " +
-                                    "Has result: " + hasResult + ", " +
-                                    "Has item: " + hasItem + ", " +
-                                    "References xp_extractor: " + hasXpExtractor + ", " +
-                                    "References experience_bottle: " + hasExperienceBottle);
-                            }
-                        }
-                    } catch (Exception e) {
-                        XPExtractor.LOGGER.error("  - Failed to read recipe: " + e.getMessage());
-                    }
-                } else {
-                    XPExtractor.LOGGER.warn("Did not find specific recipe: " + path);
-                }
-            } catch (Exception e) {
-                XPExtractor.LOGGER.error("Error checking specific recipe: " + path, e);
+        return null;
+    }
+
+    private static void apply(Summary summary, Profiler profiler) {
+        profiler.push("xpextractor_data_validation");
+        if (summary.problems().isEmpty()) {
+            XPExtractor.LOGGER.info("Validated " + summary.checked() + " XP Extractor data files");
+        } else {
+            XPExtractor.LOGGER.warn("XP Extractor data validation found " + summary.problems().size() + " problem(s) in " + summary.checked() + " files:");
+            for (String problem : summary.problems()) {
+                XPExtractor.LOGGER.warn("- " + problem);
             }
         }
+        profiler.pop();
+    }
+
+    private record Summary(int checked, List<String> problems) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.example.xpextractor.item;
+
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.world.World;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+final class BottleInserter {
+    private static final int NO_HINT = -1;
+
+    // Last main-inventory slot each player received bottles in; revalidated before use
+    private static final Map<PlayerEntity, Integer> SLOT_HINTS = new WeakHashMap<>();
+
+    private BottleInserter() {
+    }
+
+    // Returns how many units were delivered; units are clamped so anything that does not fit
+    // leaves as a single stack-sized entity
+    static int insert(World world, PlayerEntity player, Item item, int perUnit, int units) {
+        return insert(world, player, item, perUnit, units, true);
+    }
+
+    // Delivers only the units that fit; nothing is dropped
+    static int insertFitting(World world, PlayerEntity player, Item item, int perUnit, int units) {
+        return insert(world, player, item, perUnit, units, false);
+    }
+
+    private static int insert(World world, PlayerEntity player, Item item, int perUnit, int units, boolean dropOverflow) {
+        if (units <= 0 || perUnit <= 0) {
+            return 0;
+        }
+
+        PlayerInventory inventory = player.getInventory();
+        DefaultedList<ItemStack> main = inventory.main;
+        int maxCount = item.getMaxCount();
+
+        int hint = SLOT_HINTS.getOrDefault(player, NO_HINT);
+        int hintRoom = roomIn(main, hint, item, maxCount);
+
+        if (hintRoom >= (long) units * perUnit) {
+            int total = units * perUnit;
+            grow(main, hint, item, total);
+            finish(player, inventory, 1);
+            return units;
+        }
+
+        // One pass: remember every slot that can take bottles and how much they hold together
+        int[] slots = new int[main.size()];
+        int slotCount = 0;
+        long room = 0;
+        int[] empties = new int[main.size()];
+        int emptyCount = 0;
+        for (int i = 0; i < main.size(); i++) {
+            ItemStack existing = main.get(i);
+            if (existing.isEmpty()) {
+                empties[emptyCount++] = i;
+                room += maxCount;
+            } else if (existing.isOf(item) && existing.getComponentChanges().isEmpty() && existing.getCount() < maxCount) {
+                slots[slotCount++] = i;
+                room += maxCount - existing.getCount();
+            }
+        }
+
+        int deliverable = (int) Math.min(units, (dropOverflow ? room + maxCount : room) / perUnit);
+        int remaining = deliverable * perUnit;
+        int changed = 0;
+        int lastSlot = NO_HINT;
+
+        // Top up partial stacks before opening new ones, like vanilla insertion
+        for (int i = 0; i < slotCount && remaining > 0; i++) {
+            int slot = slots[i];
+            int added = Math.min(remaining, maxCount - main.get(slot).getCount());
+            grow(main, slot, item, added);
+            remaining -= added;
+            changed++;
+            lastSlot = slot;
+        }
+        for (int i = 0; i < emptyCount && remaining > 0; i++) {
+            int slot = empties[i];
+            int added = Math.min(remaining, maxCount);
+            grow(main, slot, item, added);
+            remaining -= added;
+            changed++;
+            lastSlot = slot;
+        }
+
+        if (lastSlot != NO_HINT) {
+            SLOT_HINTS.put(player, lastSlot);
+        }
+
+        if (remaining > 0) {
+            ItemEntity itemEntity = new ItemEntity(
+                world,
+                player.getX(), player.getY() + 0.5, player.getZ(),
+                new ItemStack(item, remaining)
+            );
+            itemEntity.setPickupDelay(10);
+            world.spawnEntity(itemEntity);
+        }
+
+        finish(player, inventory, changed);
+        return deliverable;
+    }
+
+    private static int roomIn(DefaultedList<ItemStack> main, int slot, Item item, int maxCount) {
+        if (slot < 0 || slot >= main.size()) {
+            return 0;
+        }
+        // Only an existing stack makes a good hint; empty slots wait for the full pass so partial stacks fill first
+        ItemStack existing = main.get(slot);
+        if (existing.isOf(item) && existing.getComponentChanges().isEmpty()) {
+            return maxCount - existing.getCount();
+        }
+        return 0;
+    }
+
+    private static void grow(DefaultedList<ItemStack> main, int slot, Item item, int amount) {
+        ItemStack existing = main.get(slot);
+        if (existing.isEmpty()) {
+            ItemStack created = new ItemStack(item, amount);
+            created.setBobbingAnimationTime(5);
+            main.set(slot, created);
+        } else {
+            existing.increment(amount);
+            existing.setBobbingAnimationTime(5);
+        }
+    }
+
+    private static void finish(PlayerEntity player, PlayerInventory inventory, int changedSlots) {
+        if (changedSlots == 0) {
+            return;
+        }
+        inventory.markDirty();
+
+        // A single changed slot goes out with the regular per-tick slot update; more than that
+        // is cheaper as one full inventory packet than a slot packet per stack
+        if (changedSlots > 1 && player instanceof ServerPlayerEntity) {
+            player.currentScreenHandler.syncState();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.xpextractor.item;
+
+import com.example.xpextractor.ledger.LedgerEntryType;
+import com.example.xpextractor.ledger.XpLedger;
+import com.example.xpextractor.registry.ModComponents;
+import com.example.xpextractor.util.XpMath;
+import net.minecraft.block.DispenserBlock;
+import net.minecraft.block.dispenser.DispenserBehavior;
+import net.minecraft.block.dispenser.ItemDispenserBehavior;
+import net.minecraft.entity.ExperienceOrbEntity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.ItemUsage;
+import net.minecraft.item.Items;
+import net.minecraft.item.tooltip.TooltipType;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Hand;
+import net.minecraft.util.TypedActionResult;
+import net.minecraft.util.UseAction;
+import net.minecraft.util.math.BlockPointer;
+import net.minecraft.util.math.Position;
+import net.minecraft.world.World;
+
+import java.util.List;
+
+// One bottle holds any amount of XP: drinking grants it in a single step, and a dispenser
+// releases it as a single orb instead of a burst of bottle projectiles
+public class CondensedXpBottleItem extends Item {
+    private static final int DRINK_TICKS = 16;
+    
+    public static final DispenserBehavior DISPENSER_BEHAVIOR = new ItemDispenserBehavior() {
+        @Override
+        protected ItemStack dispenseSilently(BlockPointer pointer, ItemStack stack) {
+            long points = getPoints(stack);
+            if (points > 0) {
+                XpLedger.record(XpLedger.blockId(pointer.pos()), LedgerEntryType.CONDENSED_DISPENSE, points);
+                Position pos = DispenserBlock.getOutputLocation(pointer);
+                // Orbs hold an int; anything beyond that is split, which in practice never happens
+                while (points > 0) {
+                    int amount = (int) Math.min(Integer.MAX_VALUE, points);
+                    pointer.world().spawnEntity(new ExperienceOrbEntity(pointer.world(), pos.getX(), pos.getY(), pos.getZ(), amount));
+                    points -= amount;
+                }
+            }
+            stack.decrement(1);
+            return stack;
+        }
+    };
+    
+    public CondensedXpBottleItem(Settings settings) {
+        super(settings);
+    }
+    
+    public static ItemStack create(Item item, long points) {
+        ItemStack stack = new ItemStack(item);
+        stack.set(ModComponents.STORED_XP, points);
+        return stack;
+    }
+    
+    public static long getPoints(ItemStack stack) {
+        return Math.max(0L, stack.getOrDefault(ModComponents.STORED_XP, 0L));
+    }
+    
+    @Override
+    public boolean hasGlint(ItemStack stack) {
+        return true;
+    }
+    
+    @Override
+    public TypedActionResult<ItemStack> use(World world, PlayerEntity player, Hand hand) {
+        if (getPoints(player.getStackInHand(hand)) <= 0) {
+            return TypedActionResult.fail(player.getStackInHand(hand));
+        }
+        return ItemUsage.consumeHeldItem(world, player, hand);
+    }
+    
+    @Override
+    public UseAction getUseAction(ItemStack stack) {
+        return UseAction.DRINK;
+    }
+    
+    @Override
+    public int getMaxUseTime(ItemStack stack, LivingEntity user) {
+        return DRINK_TICKS;
+    }
+    
+    @Override
+    public ItemStack finishUsing(ItemStack stack, World world, LivingEntity user) {
+        if (!world.isClient && user instanceof PlayerEntity player) {
+            long points = getPoints(stack);
+            long added = XpMath.addPoints(player, points);
+            XpLedger.record(player, LedgerEntryType.CONDENSED_CONSUME, added);
+            // A player at the XP cap cannot take everything; what is left goes back into a new bottle
+            if (points > added) {
+                player.getInventory().offerOrDrop(create(this, points - added));
+            }
+            world.playSound(null, player.getX(), player.getY(), player.getZ(), SoundEvents.ENTITY_PLAYER_LEVELUP, SoundCategory.PLAYERS, 0.5f, 1.0f);
+        }
+        stack.decrementUnlessCreative(1, user);
+        
+        // Hands back the empty bottle like vanilla drinkables
+        if (stack.isEmpty()) {
+            return new ItemStack(Items.GLASS_BOTTLE);
+        }
+        if (user instanceof PlayerEntity player && !player.isInCreativeMode()) {
+            player.getInventory().offerOrDrop(new ItemStack(Items.GLASS_BOTTLE));
+        }
+        return stack;
+    }
+    
+    @Override
+    public void appendTooltip(ItemStack stack, TooltipContext context, List<Text> tooltip, TooltipType type) {
+        long points = getPoints(stack);
+        tooltip.add(Text.translatable("item.xpextractor.condensed_experience_bottle.points", points, XpMath.levelForPoints(points)).formatted(Formatting.GREEN));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.xpextractor.item;
+
+import com.example.xpextractor.mixin.ExperienceOrbEntityAccessor;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.ExperienceOrbEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class OrbVacuum {
+    // Only touched on the server thread, so one list is reused for every lookup
+    private static final List<ExperienceOrbEntity> FOUND = new ArrayList<>();
+
+    private OrbVacuum() {
+    }
+
+    // Removes up to budget orbs around the player and returns the XP they held. The lookup goes
+    // through the world's entity sections and stops as soon as the budget is reached.
+    static long absorb(ServerWorld world, PlayerEntity player, double radius, int budget) {
+        Box box = player.getBoundingBox().expand(radius);
+        world.collectEntitiesByType(EntityType.EXPERIENCE_ORB, box, ExperienceOrbEntity::isAlive, FOUND, budget);
+
+        long points = 0;
+        try {
+            for (ExperienceOrbEntity orb : FOUND) {
+                int count = Math.max(1, ((ExperienceOrbEntityAccessor) orb).xpextractor$getPickingCount());
+                points += (long) orb.getExperienceAmount() * count;
+                orb.discard();
+            }
+        } finally {
+            FOUND.clear();
+        }
+        return points;
+    }
+}
@@ -1,20 +1,33 @@
 package com.example.xpextractor.item;
 
 import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.config.ExtractionProfile;
+import com.example.xpextractor.config.ExtractionMode;
+import com.example.xpextractor.config.ExtractionProfiles;
 import com.example.xpextractor.config.ModConfig;
-import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.option.ParticlesMode;
+import com.example.xpextractor.effect.ExtractionEffectCoalescer;
+import com.example.xpextractor.effect.ExtractionEffects;
+import com.example.xpextractor.jfr.EffectBurstEvent;
+import com.example.xpextractor.jfr.ExtractionEvent;
+import com.example.xpextractor.ledger.LedgerEntryType;
+import com.example.xpextractor.ledger.XpLedger;
+import com.example.xpextractor.limit.ExtractionRateLimiter;
+import com.example.xpextractor.metrics.XpMetrics;
+import com.example.xpextractor.network.ExtractionFeedbackPayload;
+import com.example.xpextractor.network.ServerSettingsSync;
+import com.example.xpextractor.registry.ModComponents;
+import com.example.xpextractor.registry.ModItems;
+import com.example.xpextractor.util.XpMath;
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.CompassItem;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.item.Item;
-import net.minecraft.particle.DustParticleEffect;
-import net.minecraft.particle.ParticleEffect;
-import net.minecraft.particle.ParticleTypes;
+import net.minecraft.item.tooltip.TooltipType;
 import net.minecraft.recipe.Ingredient;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
@@ -23,40 +36,29 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import net.minecraft.util.Hand;
 import net.minecraft.util.TypedActionResult;
-import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
-import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
-import org.joml.Vector3f;
 import org.slf4j.Logger;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.server.network.ServerPlayerEntity;
 
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public class XPExtractorItem extends CompassItem {
-    private static final Vector3f XP_PARTICLE_COLOR = new Vector3f(0.3f, 0.8f, 0.3f);
-    private static final Vector3f XP_PARTICLE_COLOR_BRIGHT = new Vector3f(0.4f, 1.0f, 0.4f);
-    private static final Vector3f XP_PARTICLE_COLOR_DARK = new Vector3f(0.2f, 0.6f, 0.2f);
-    private static final Vector3f MAGIC_PARTICLE_COLOR = new Vector3f(0.5f, 0.2f, 0.9f);
-    
     private static final Logger LOGGER = XPExtractor.LOGGER;
     
-    private static final int PARTICLE_DISTANCE_SQUARED = 32 * 32;
-    private static final int AMBIENT_PARTICLE_CHANCE = 16;
-    private static final float DEFAULT_PARTICLE_SIZE = 1.0f;
+    private static final int HOLD_MAX_USE_TICKS = 72000;
+    
+    private final Map<LivingEntity, HoldState> holdStates = new WeakHashMap<>();
     
     public XPExtractorItem(Settings settings) {
         super(settings.maxDamage(getConfigSafely().getMaxDurability()));
     }
 
-    private static ModConfig getConfigSafely() {
-        ModConfig config = XPExtractor.getConfig();
-        if (config == null) {
-            LOGGER.warn("Failed to get mod configuration, using default instance");
-            return new ModConfig();
-        }
-        return config;
+    static ModConfig getConfigSafely() {
+        return ModConfig.getInstance();
     }
 
     @Override
@@ -74,124 +76,73 @@ public class XPExtractorItem extends CompassItem {
         if (world == null || player == null) {
             return TypedActionResult.pass(ItemStack.EMPTY);
         }
+        if (world.isClient) {
+            return useExtractor(world, player, hand);
+        }
         
+        long start = System.nanoTime();
+        try {
+            return useExtractor(world, player, hand);
+        } finally {
+            XpMetrics.USE_TIME.recordSince(start);
+        }
+    }
+    
+    private TypedActionResult<ItemStack> useExtractor(World world, PlayerEntity player, Hand hand) {
         ItemStack stack = player.getStackInHand(hand);
         if (stack.isEmpty()) {
             return TypedActionResult.pass(stack);
         }
         
+        // Rejected before any config or XP work so spamming the use packet stays cheap
+        if (!world.isClient && !ExtractionRateLimiter.tryAcquire(player)) {
+            XpMetrics.USES_RATE_LIMITED.increment();
+            XpMetrics.USES_REJECTED.increment();
+            return TypedActionResult.fail(stack);
+        }
+        
         try {
             ModConfig config = getConfigSafely();
+            ExtractionProfile profile = ExtractionProfiles.forPlayer(world, player);
+            
+            // Withdrawing costs no durability, so banked XP can still be recovered from a worn-out extractor;
+            // vacuumed XP can be stored outside bank mode too
+            if (player.isSneaking() && (config.getExtractionMode() == ExtractionMode.BANK || getStoredXp(stack) > 0)) {
+                return withdraw(world, player, stack, profile);
+            }
             
             if (stack.getDamage() >= stack.getMaxDamage() - 1) {
-                if (!world.isClient) {
-                    player.sendMessage(Text.translatable("message.xpextractor.too_damaged"), true);
-                    
-                    playSoundSafely(world, player, SoundEvents.ENTITY_ITEM_BREAK, 0.8f, 1.0f);
+                if (world instanceof ServerWorld serverWorld) {
+                    XpMetrics.USES_REJECTED.increment();
+                    sendFeedback(serverWorld, player, profile, ExtractionFeedbackPayload.Result.TOO_DAMAGED, 0, 0L, 0);
                 }
                 return TypedActionResult.fail(stack);
             }
             
-            int bottlesPerExtraction = config.getXpBottlesPerExtraction();
-            int maxExtractions = config.getMaxExtractionsPerUse();
-            int cooldownTicks = config.getCooldownTicks();
-            
-            int xpPerBottle = 7;
-            int usageFee = 2;
-            int totalXpPerBottle = xpPerBottle + usageFee;
-            
-            int playerXp = getTotalPlayerXp(player);
+            long playerXp = XpMath.getTotalPoints(player);
             
-            int possibleExtractions = Math.min(maxExtractions, playerXp / totalXpPerBottle);
+            int possibleExtractions = XpMath.possibleExtractions(playerXp, profile.getMaxExtractionsPerUse());
             
-            if (possibleExtractions > 0) {
-                try {
-                    ItemStack xpBottles = new ItemStack(Items.EXPERIENCE_BOTTLE, bottlesPerExtraction * possibleExtractions);
-                    
-                    boolean wasAdded = player.getInventory().insertStack(xpBottles);
-                    
-                    if (!wasAdded) {
-                        ItemEntity itemEntity = new ItemEntity(
-                            world, 
-                            player.getX(), player.getY() + 0.5, player.getZ(),
-                            xpBottles
-                        );
-                        itemEntity.setPickupDelay(10);
-                        world.spawnEntity(itemEntity);
-                    }
-                    
-                    int totalXpCost = possibleExtractions * totalXpPerBottle;
-                    player.addExperience(-totalXpCost);
-                    
-                    if (hand == Hand.MAIN_HAND) {
-                        stack.damage(possibleExtractions, player, EquipmentSlot.MAINHAND);
-                    } else {
-                        stack.damage(possibleExtractions, player, EquipmentSlot.OFFHAND);
-                    }
-                    
-                    if (world instanceof ServerWorld serverWorld) {
-                        spawnExtractionParticles(serverWorld, player, possibleExtractions);
-                    }
-                    
-                    playSoundSafely(
-                        world, 
-                        player, 
-                        SoundEvents.BLOCK_ENCHANTMENT_TABLE_USE,
-                        0.7f,
-                        0.8f + world.getRandom().nextFloat() * 0.2f
-                    );
-                    
-                    playSoundSafely(
-                        world,
-                        player,
-                        SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP,
-                        0.6f,
-                        0.5f + (possibleExtractions * 0.05f)
-                    );
-                    
-                    playSoundSafely(
-                        world,
-                        player,
-                        SoundEvents.ITEM_BOTTLE_FILL,
-                        0.5f,
-                        1.1f + world.getRandom().nextFloat() * 0.2f
-                    );
-                    
-                    playSoundSafely(
-                        world,
-                        player,
-                        SoundEvents.ENTITY_ILLUSIONER_CAST_SPELL,
-                        0.3f,
-                        1.2f
-                    );
-                    
-                    int totalBottles = bottlesPerExtraction * possibleExtractions;
-                    int totalXpUsed = possibleExtractions * totalXpPerBottle;
-                    
-                    if (possibleExtractions == 1 && bottlesPerExtraction == 1) {
-                        player.sendMessage(Text.translatable("message.xpextractor.extraction_success").formatted(Formatting.GREEN), true);
-                    } else {
-                        player.sendMessage(Text.translatable("message.xpextractor.extraction_multiple", totalXpUsed, totalBottles).formatted(Formatting.GREEN), true);
-                    }
-                } catch (Exception e) {
-                    LOGGER.error("Error during XP extraction", e);
-                    player.sendMessage(Text.literal("An error occurred during XP extraction").formatted(Formatting.RED), false);
+            if (possibleExtractions <= 0) {
+                if (world instanceof ServerWorld serverWorld) {
+                    XpMetrics.USES_REJECTED.increment();
+                    sendFeedback(serverWorld, player, profile, ExtractionFeedbackPayload.Result.INSUFFICIENT_XP, 0, XpMath.POINTS_PER_EXTRACTION, 0);
                 }
-            } else {
+                return TypedActionResult.fail(stack);
+            }
+            
+            // The client uses the server's synced setting so it enters the using state exactly when the server does
+            if (ServerSettingsSync.isHoldToExtract(world)) {
                 if (!world.isClient) {
-                    player.sendMessage(Text.translatable("message.xpextractor.insufficient_xp", totalXpPerBottle).formatted(Formatting.RED), true);
-                    
-                    playSoundSafely(world, player, SoundEvents.BLOCK_FIRE_EXTINGUISH, 0.4f, 1.0f);
-                    playSoundSafely(world, player, SoundEvents.ENTITY_ENDERMAN_TELEPORT, 0.2f, 0.5f);
-                    
-                    if (world instanceof ServerWorld serverWorld) {
-                        spawnFailureParticles(serverWorld, player);
-                    }
+                    holdStates.put(player, new HoldState(profile));
                 }
-                return TypedActionResult.fail(stack);
+                player.setCurrentHand(hand);
+                return TypedActionResult.consume(stack);
             }
             
-            player.getItemCooldownManager().set(this, cooldownTicks);
+            extract(world, player, stack, LivingEntity.getSlotForHand(hand), profile, possibleExtractions);
+            
+            player.getItemCooldownManager().set(this, profile.getCooldownTicks());
             
             return TypedActionResult.success(stack);
         } catch (Exception e) {
@@ -203,340 +154,323 @@ public class XPExtractorItem extends CompassItem {
         }
     }
     
-    private void playSoundSafely(World world, PlayerEntity player, net.minecraft.sound.SoundEvent sound, float volume, float pitch) {
+    @Override
+    public void inventoryTick(ItemStack stack, World world, Entity entity, int slot, boolean selected) {
+        // Keeps the compass validating its lodestone tracker
+        super.inventoryTick(stack, world, entity, slot, selected);
+        
+        if (!(world instanceof ServerWorld serverWorld) || !(entity instanceof PlayerEntity player)) {
+            return;
+        }
+        
+        ModConfig config = getConfigSafely();
+        // "selected" is also true for the offhand and first armor slot, so compare the held stacks directly
+        if (!config.isVacuumEnabled() || (player.getMainHandStack() != stack && player.getOffHandStack() != stack)) {
+            return;
+        }
+        
         try {
-            world.playSound(
-                null, 
-                player.getX(), player.getY(), player.getZ(),
-                sound,
-                SoundCategory.PLAYERS,
-                volume,
-                pitch
-            );
+            long points = OrbVacuum.absorb(serverWorld, player, config.getVacuumRadius(), config.getVacuumOrbsPerTick());
+            if (points <= 0) {
+                return;
+            }
+            
+            addStoredXp(stack, points);
+            XpLedger.record(player, LedgerEntryType.VACUUM, points);
+            if (config.getExtractionMode() == ExtractionMode.BOTTLES) {
+                // Whole bottles go to the inventory as far as they fit; the rest stays stored rather than
+                // being dropped, since a full inventory at a mob farm would otherwise spawn a stack every tick
+                long stored = getStoredXp(stack);
+                int bottles = (int) Math.min(Integer.MAX_VALUE, stored / XpMath.POINTS_PER_BOTTLE);
+                int delivered = BottleInserter.insertFitting(world, player, Items.EXPERIENCE_BOTTLE, 1, bottles);
+                XpMetrics.BOTTLES_CREATED.add(delivered);
+                setStoredXp(stack, stored - (long) delivered * XpMath.POINTS_PER_BOTTLE);
+            }
+            
+            world.playSound(null, player.getX(), player.getY(), player.getZ(), SoundEvents.ENTITY_EXPERIENCE_ORB_PICKUP, SoundCategory.PLAYERS, 0.1f, 0.55f + world.getRandom().nextFloat() * 0.35f);
         } catch (Exception e) {
-            LOGGER.warn("Failed to play sound: {}", sound.getId(), e);
+            LOGGER.error("Error absorbing experience orbs", e);
         }
     }
     
-    private void spawnClientSideParticles(World world, PlayerEntity player) {
-        MinecraftClient client = MinecraftClient.getInstance();
-        if (client == null) return;
-        
-        ParticlesMode particlesMode = client.options.getParticles().getValue();
-        if (particlesMode == ParticlesMode.MINIMAL) {
+    @Override
+    public int getMaxUseTime(ItemStack stack, LivingEntity user) {
+        return ServerSettingsSync.isHoldToExtract(user.getWorld()) ? HOLD_MAX_USE_TICKS : 0;
+    }
+    
+    @Override
+    public void usageTick(World world, LivingEntity user, ItemStack stack, int remainingUseTicks) {
+        if (world.isClient || !(user instanceof PlayerEntity player)) {
             return;
         }
         
-        Random random = world.getRandom();
+        HoldState state = holdStates.get(player);
+        if (state == null) {
+            return;
+        }
         
-        int particleMultiplier = (particlesMode == ParticlesMode.ALL) ? 5 : 2;
-        int particleCount = Math.min(15, 5 + (particleMultiplier * 5));
-        for (int i = 0; i < particleCount; i++) {
-            double offsetX = (random.nextDouble() - 0.5) * 0.5;
-            double offsetY = (random.nextDouble() - 0.5) * 0.5;
-            double offsetZ = (random.nextDouble() - 0.5) * 0.5;
+        try {
+            ModConfig config = getConfigSafely();
+            state.ticksHeld++;
             
-            world.addParticle(
-                ParticleTypes.ENCHANT,
-                player.getX() + offsetX,
-                player.getY() + 1.0 + offsetY,
-                player.getZ() + offsetZ,
-                0, 0, 0
-            );
+            if (state.ticksHeld % config.getHoldTicksPerExtraction() == 0) {
+                long availableXp = XpMath.getTotalPoints(player);
+                int affordable = XpMath.possibleExtractions(availableXp, Integer.MAX_VALUE);
+                int durabilityLeft = stack.getMaxDamage() - 1 - stack.getDamage();
+                
+                if (state.pending >= Math.min(affordable, durabilityLeft)) {
+                    // Out of XP or durability: release so the accrued batch is committed now
+                    user.stopUsingItem();
+                    return;
+                }
+                // The profile resolved when the hold started caps each batch the way it caps a single click
+                if (state.pending < state.profile.getMaxExtractionsPerUse()) {
+                    state.pending++;
+                }
+            }
+            
+            if (state.ticksHeld % config.getHoldCommitIntervalTicks() == 0) {
+                commitHold(world, player, stack, state);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Error during continuous XP extraction", e);
+            holdStates.remove(player);
+            user.stopUsingItem();
+        }
+    }
+    
+    @Override
+    public void onStoppedUsing(ItemStack stack, World world, LivingEntity user, int remainingUseTicks) {
+        if (world.isClient || !(user instanceof PlayerEntity player)) {
+            return;
         }
         
-        for (int i = 0; i < 8; i++) {
-            double angle = i * Math.PI / 4;
-            double radius = 0.6;
-            double offsetX = Math.sin(angle) * radius;
-            double offsetZ = Math.cos(angle) * radius;
-            
-            world.addParticle(
-                ParticleTypes.PORTAL,
-                player.getX() + offsetX,
-                player.getY() + 0.1,
-                player.getZ() + offsetZ,
-                0, 0.1, 0
-            );
+        HoldState state = holdStates.remove(player);
+        if (state == null) {
+            return;
         }
         
-        particleCount = Math.min(12, 4 + (particleMultiplier * 4));
-        for (int i = 0; i < particleCount; i++) {
-            double angle = i * MathHelper.TAU / particleCount;
-            double radius = 1.0;
-            double offsetX = Math.sin(angle) * radius;
-            double offsetZ = Math.cos(angle) * radius;
-            
-            world.addParticle(
-                ParticleTypes.WITCH,
-                player.getX() + offsetX,
-                player.getY() + 0.8,
-                player.getZ() + offsetZ,
-                -offsetX * 0.1, -0.02, -offsetZ * 0.1
-            );
+        try {
+            commitHold(world, player, stack, state);
+            player.getItemCooldownManager().set(this, state.profile.getCooldownTicks());
+        } catch (Exception e) {
+            LOGGER.error("Error finishing continuous XP extraction", e);
+        }
+    }
+    
+    @Override
+    public ItemStack finishUsing(ItemStack stack, World world, LivingEntity user) {
+        onStoppedUsing(stack, world, user, 0);
+        return stack;
+    }
+    
+    private void commitHold(World world, PlayerEntity player, ItemStack stack, HoldState state) {
+        if (state.pending <= 0) {
+            return;
+        }
+        
+        // XP or durability may have changed since the extractions were accrued
+        int affordable = XpMath.possibleExtractions(XpMath.getTotalPoints(player), state.pending);
+        int durabilityLeft = stack.getMaxDamage() - 1 - stack.getDamage();
+        int extractions = Math.min(affordable, durabilityLeft);
+        state.pending = 0;
+        
+        if (extractions > 0) {
+            extract(world, player, stack, LivingEntity.getSlotForHand(player.getActiveHand()), state.profile, extractions);
         }
     }
     
-    private void spawnExtractionParticles(ServerWorld world, PlayerEntity player, int extractionCount) {
+    private void extract(World world, PlayerEntity player, ItemStack stack, EquipmentSlot slot, ExtractionProfile profile, int extractions) {
+        if (world.isClient) {
+            return;
+        }
+        
+        ExtractionEvent event = new ExtractionEvent();
+        event.begin();
+        ExtractionMode mode = getConfigSafely().getExtractionMode();
+        long totalXpCost = 0L;
         try {
-            boolean playersNearby = false;
-            for (PlayerEntity otherPlayer : world.getPlayers()) {
-                if (otherPlayer != player && otherPlayer.squaredDistanceTo(player) <= PARTICLE_DISTANCE_SQUARED) {
-                    playersNearby = true;
-                    break;
+            int bottlesPerExtraction = profile.getXpBottlesPerExtraction();
+            long points = (long) bottlesPerExtraction * extractions * XpMath.POINTS_PER_BOTTLE;
+            ExtractionFeedbackPayload.Result result;
+            switch (mode) {
+                case BANK -> {
+                    // Banked XP is worth exactly what the bottles would have held, without creating any items
+                    addStoredXp(stack, points);
+                    result = ExtractionFeedbackPayload.Result.DEPOSITED;
                 }
-            }
-            
-            if (!playersNearby && player instanceof ServerPlayerEntity) {
-                playersNearby = true;
-            }
-            
-            if (!playersNearby) {
-                return;
-            }
-            
-            ModConfig config = getConfigSafely();
-            int particlesPerExtraction = Math.max(8, config.getMaxParticlesPerExtraction());
-            int totalParticles = Math.min(150, extractionCount * particlesPerExtraction);
-            
-            Random random = world.getRandom();
-            
-            double radius = 2.0;
-            for (int i = 0; i < totalParticles / 2; i++) {
-                double progress = (double) i / (totalParticles / 2);
-                double angle = progress * Math.PI * 12;
-                
-                double spiralRadius = radius * (1 - progress * 0.8); 
-                
-                double x1 = player.getX() + Math.sin(angle) * spiralRadius;
-                double z1 = player.getZ() + Math.cos(angle) * spiralRadius;
-                double y1 = player.getY() + 2.5 - progress * 2.0;
-                
-                Vector3f color = i % 3 == 0 ? XP_PARTICLE_COLOR_BRIGHT : 
-                                 i % 3 == 1 ? XP_PARTICLE_COLOR : XP_PARTICLE_COLOR_DARK;
-                
-                float size = DEFAULT_PARTICLE_SIZE * (0.7f + (float)progress * 0.6f);
-                                 
-                world.spawnParticles(
-                    new DustParticleEffect(color, size),
-                    x1, y1, z1,
-                    1,
-                    0.02, 0.02, 0.02,
-                    0.01
-                );
-                
-                if (i % 2 == 0) {
-                    double x2 = player.getX() + Math.sin(angle + Math.PI) * spiralRadius;
-                    double z2 = player.getZ() + Math.cos(angle + Math.PI) * spiralRadius;
-                    double y2 = player.getY() + 0.1 + progress * 1.0;
-                    
-                    world.spawnParticles(
-                        new DustParticleEffect(color, size * 0.8f),
-                        x2, y2, z2,
-                        1,
-                        0.02, 0.02, 0.02,
-                        0.01
-                    );
+                case CONDENSED -> {
+                    // The whole batch goes into one stack, so at most one item entity if the inventory is full
+                    player.getInventory().offerOrDrop(CondensedXpBottleItem.create(ModItems.CONDENSED_XP_BOTTLE, points));
+                    result = ExtractionFeedbackPayload.Result.CONDENSED;
                 }
-            }
-            
-            Vec3d handPos = player.getEyePos().subtract(0, 0.2, 0).add(player.getRotationVector().multiply(0.5));
-            for (int i = 0; i < Math.min(30, 10 + extractionCount * 4); i++) {
-                double angle = random.nextDouble() * Math.PI * 2;
-                double distance = 1.0 + random.nextDouble() * 1.0;
-                double height = 0.5 + random.nextDouble() * 1.5;
-                
-                double x = player.getX() + Math.sin(angle) * distance;
-                double z = player.getZ() + Math.cos(angle) * distance;
-                double y = player.getY() + height;
-                
-                double vx = (handPos.x - x) * 0.1;
-                double vy = (handPos.y - y) * 0.1;
-                double vz = (handPos.z - z) * 0.1;
-                
-                if (i % 4 == 0) {
-                    world.spawnParticles(
-                        new DustParticleEffect(MAGIC_PARTICLE_COLOR, 0.7f),
-                        x, y, z,
-                        1,
-                        vx * 0.2, vy * 0.2, vz * 0.2,
-                        0.05
-                    );
-                } else {
-                    world.spawnParticles(
-                        ParticleTypes.ENCHANT,
-                        x, y, z,
-                        1,
-                        vx, vy, vz,
-                        0.05
-                    );
+                default -> {
+                    extractions = BottleInserter.insert(world, player, Items.EXPERIENCE_BOTTLE, bottlesPerExtraction, extractions);
+                    if (extractions <= 0) {
+                        return;
+                    }
+                    result = ExtractionFeedbackPayload.Result.SUCCESS;
                 }
             }
-            
-            for (int i = 0; i < Math.min(15, 5 + extractionCount * 2); i++) {
-                double offsetX = random.nextGaussian() * 0.3;
-                double offsetY = random.nextGaussian() * 0.3;
-                double offsetZ = random.nextGaussian() * 0.3;
-                
-                world.spawnParticles(
-                    ParticleTypes.HAPPY_VILLAGER,
-                    player.getX() + offsetX,
-                    player.getY() + 0.8 + offsetY,
-                    player.getZ() + offsetZ,
-                    1, 0, 0, 0, 0
-                );
+            int totalBottles = bottlesPerExtraction * extractions;
+            XpMetrics.EXTRACTIONS.add(extractions);
+            if (result == ExtractionFeedbackPayload.Result.SUCCESS) {
+                XpMetrics.BOTTLES_CREATED.add(totalBottles);
+            } else if (result == ExtractionFeedbackPayload.Result.CONDENSED) {
+                XpMetrics.BOTTLES_CREATED.increment();
             }
             
-            for (int i = 0; i < 12; i++) {
-                world.spawnParticles(
-                    ParticleTypes.WITCH,
-                    handPos.x, handPos.y, handPos.z,
-                    3, 
-                    0.07, 0.07, 0.07, 
-                    0.01
-                );
-            }
+            totalXpCost = XpMath.extractionCost(extractions);
+            long deducted = XpMath.deductPoints(player, totalXpCost);
+            XpLedger.record(player, result == ExtractionFeedbackPayload.Result.DEPOSITED ? LedgerEntryType.BANK_DEPOSIT : LedgerEntryType.EXTRACT, deducted);
             
-            world.spawnParticles(
-                ParticleTypes.END_ROD,
-                handPos.x, handPos.y, handPos.z,
-                extractionCount * 3,
-                0.2, 0.2, 0.2,
-                0.05
-            );
+            stack.damage(extractions, player, slot);
             
+            if (world instanceof ServerWorld serverWorld && player instanceof ServerPlayerEntity serverPlayer) {
+                Vec3d handPos = getHandPos(player);
+                ExtractionEffectCoalescer.enqueue(
+                    serverWorld,
+                    serverPlayer,
+                    (float) (handPos.x - player.getX()),
+                    (float) (handPos.y - player.getY()),
+                    (float) (handPos.z - player.getZ()),
+                    extractions,
+                    Math.max(8, profile.getMaxParticlesPerExtraction()),
+                    result,
+                    totalXpCost,
+                    totalBottles
+                );
+            }
         } catch (Exception e) {
-            LOGGER.warn("Error spawning particles", e);
+            LOGGER.error("Error during XP extraction", e);
+            player.sendMessage(Text.literal("An error occurred during XP extraction").formatted(Formatting.RED), false);
+        } finally {
+            // Only fills the fields when a recording has the event enabled
+            if (event.shouldCommit()) {
+                event.player = player.getName().getString();
+                event.mode = mode.name();
+                event.extractions = extractions;
+                event.xpCost = totalXpCost;
+                event.commit();
+            }
         }
     }
     
-    private void spawnFailureParticles(ServerWorld world, PlayerEntity player) {
-        try {
-            Vec3d handPos = player.getEyePos().subtract(0, 0.2, 0).add(player.getRotationVector().multiply(0.5));
-            
-            world.spawnParticles(
-                ParticleTypes.SMOKE,
-                handPos.x, handPos.y, handPos.z,
-                8,
-                0.05, 0.05, 0.05,
-                0.02
-            );
-            
-            world.spawnParticles(
-                ParticleTypes.CRIT,
-                handPos.x, handPos.y, handPos.z,
-                5,
-                0.1, 0.1, 0.1,
-                0.05
-            );
-            
-            world.spawnParticles(
-                new DustParticleEffect(new Vector3f(0.8f, 0.1f, 0.1f), 1.0f),
-                handPos.x, handPos.y, handPos.z,
-                6,
-                0.1, 0.1, 0.1,
-                0.01
-            );
-        } catch (Exception e) {
-            LOGGER.warn("Error spawning failure particles", e);
+    private TypedActionResult<ItemStack> withdraw(World world, PlayerEntity player, ItemStack stack, ExtractionProfile profile) {
+        long stored = getStoredXp(stack);
+        if (stored <= 0) {
+            return TypedActionResult.fail(stack);
+        }
+        
+        if (world instanceof ServerWorld serverWorld) {
+            long added = XpMath.addPoints(player, stored);
+            XpLedger.record(player, LedgerEntryType.BANK_WITHDRAW, added);
+            setStoredXp(stack, stored - added);
+            sendFeedback(serverWorld, player, profile, ExtractionFeedbackPayload.Result.WITHDRAWN, 0, added, 0);
+        }
+        
+        player.getItemCooldownManager().set(this, profile.getCooldownTicks());
+        return TypedActionResult.success(stack);
+    }
+    
+    public static long getStoredXp(ItemStack stack) {
+        return Math.max(0L, stack.getOrDefault(ModComponents.STORED_XP, 0L));
+    }
+    
+    private static void addStoredXp(ItemStack stack, long points) {
+        long stored = getStoredXp(stack);
+        setStoredXp(stack, stored + Math.min(points, Long.MAX_VALUE - stored));
+    }
+    
+    public static void takeStoredXp(ItemStack stack, long points) {
+        setStoredXp(stack, getStoredXp(stack) - Math.max(0L, points));
+    }
+    
+    private static void setStoredXp(ItemStack stack, long points) {
+        if (points <= 0) {
+            stack.remove(ModComponents.STORED_XP);
+        } else {
+            stack.set(ModComponents.STORED_XP, points);
         }
     }
     
     @Override
-    public void inventoryTick(ItemStack stack, World world, Entity entity, int slot, boolean selected) {
+    public void appendTooltip(ItemStack stack, TooltipContext context, List<Text> tooltip, TooltipType type) {
+        long stored = getStoredXp(stack);
+        if (stored > 0 || getConfigSafely().getExtractionMode() == ExtractionMode.BANK) {
+            tooltip.add(Text.translatable("item.xpextractor.xp_extractor.stored_xp", stored, XpMath.levelForPoints(stored)).formatted(Formatting.GREEN));
+        }
+    }
+    
+    private void sendFeedback(ServerWorld world, PlayerEntity player, ExtractionProfile profile, ExtractionFeedbackPayload.Result result, int extractionCount, long xpCost, int bottles) {
+        EffectBurstEvent event = new EffectBurstEvent();
+        event.begin();
+        int packets = 0;
         try {
-            super.inventoryTick(stack, world, entity, slot, selected);
+            Vec3d handPos = getHandPos(player);
             
-            if (!world.isClient || !(entity instanceof PlayerEntity) || !selected) {
-                return;
-            }
-            
-            MinecraftClient client = MinecraftClient.getInstance();
-            if (client == null) return;
+            ExtractionFeedbackPayload payload = new ExtractionFeedbackPayload(
+                player.getId(),
+                player.getX(), player.getY(), player.getZ(),
+                (float) (handPos.x - player.getX()),
+                (float) (handPos.y - player.getY()),
+                (float) (handPos.z - player.getZ()),
+                extractionCount,
+                Math.max(8, profile.getMaxParticlesPerExtraction()),
+                ExtractionEffects.DETAIL_FULL,
+                1,
+                world.getRandom().nextLong(),
+                result,
+                xpCost,
+                bottles
+            );
             
-            ParticlesMode particlesMode = client.options.getParticles().getValue();
-            if (particlesMode == ParticlesMode.MINIMAL) {
-                return;
+            if (player instanceof ServerPlayerEntity serverPlayer) {
+                ServerPlayNetworking.send(serverPlayer, payload);
+                XpMetrics.EFFECT_PACKETS_SENT.increment();
+                packets++;
             }
             
-            PlayerEntity player = (PlayerEntity) entity;
-            Random random = world.getRandom();
-            
-            if (random.nextInt(AMBIENT_PARTICLE_CHANCE) == 0) {
-                world.addParticle(
-                    ParticleTypes.REVERSE_PORTAL,
-                    entity.getX() + (random.nextDouble() - 0.5) * 0.5,
-                    entity.getY() + 1.0,
-                    entity.getZ() + (random.nextDouble() - 0.5) * 0.5,
-                    0, 0.1, 0
-                );
-                
-                if (random.nextBoolean()) {
-                    world.addParticle(
-                        ParticleTypes.ENCHANT,
-                        entity.getX() + (random.nextDouble() - 0.5) * 0.3,
-                        entity.getY() + 0.8 + (random.nextDouble() - 0.5) * 0.2,
-                        entity.getZ() + (random.nextDouble() - 0.5) * 0.3,
-                        0, 0, 0
-                    );
-                }
-                
-                Vec3d handPos = player.getEyePos().subtract(0, 0.2, 0).add(player.getRotationVector().multiply(0.5));
-                
-                if (random.nextInt(3) == 0) {
-                    world.addParticle(
-                        ParticleTypes.END_ROD,
-                        handPos.x + (random.nextDouble() - 0.5) * 0.1,
-                        handPos.y + (random.nextDouble() - 0.5) * 0.1,
-                        handPos.z + (random.nextDouble() - 0.5) * 0.1,
-                        0, 0, 0
-                    );
-                }
-                
-                if (random.nextInt(8) == 0) {
-                    world.playSound(
-                        player,
-                        player.getX(), player.getY(), player.getZ(),
-                        SoundEvents.BLOCK_AMETHYST_BLOCK_CHIME,
-                        SoundCategory.PLAYERS,
-                        0.1f,
-                        0.8f + random.nextFloat() * 0.4f
-                    );
+            // Only players whose client is tracking the user can see the effect at all
+            for (ServerPlayerEntity viewer : PlayerLookup.tracking(player)) {
+                if (viewer == player) {
+                    continue;
                 }
+                int detail = ExtractionEffects.detailForDistance(viewer.squaredDistanceTo(player));
+                ServerPlayNetworking.send(viewer, payload.withDetail(detail));
+                XpMetrics.EFFECT_PACKETS_SENT.increment();
+                packets++;
             }
         } catch (Exception e) {
-            if (world.getTime() % 200 == 0) {
-                LOGGER.debug("Error in inventory tick", e);
+            LOGGER.warn("Failed to send extraction feedback", e);
+        } finally {
+            if (event.shouldCommit()) {
+                event.result = result.name();
+                event.contributors = 1;
+                event.extractions = extractionCount;
+                event.particles = extractionCount * Math.max(8, profile.getMaxParticlesPerExtraction());
+                event.packets = packets;
+                event.commit();
             }
         }
     }
     
+    private static Vec3d getHandPos(PlayerEntity player) {
+        return player.getEyePos().subtract(0, 0.2, 0).add(player.getRotationVector().multiply(0.5));
+    }
+    
     @Override
     public boolean isEnchantable(ItemStack stack) {
         return false;
     }
-
-    private int getTotalPlayerXp(PlayerEntity player) {
-        int level = player.experienceLevel;
-        float progress = player.experienceProgress;
-        int xp = 0;
-        
-        for (int i = 0; i < level; i++) {
-            xp += getXpNeededForLevel(i);
-        }
-        
-        xp += Math.round(progress * getXpNeededForLevel(level));
-        
-        return xp;
-    }
     
-    private int getXpNeededForLevel(int level) {
-        if (level >= 30) {
-            return 112 + (level - 30) * 9;
-        } else if (level >= 15) {
-            return 37 + (level - 15) * 5;
-        } else {
-            return 7 + level * 2;
+    private static final class HoldState {
+        private final ExtractionProfile profile;
+        private int ticksHeld;
+        private int pending;
+        
+        private HoldState(ExtractionProfile profile) {
+            this.profile = profile;
         }
     }
-}
\ No newline at end of file
+}
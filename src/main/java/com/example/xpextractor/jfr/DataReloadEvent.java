@@ -0,0 +1,26 @@
+package com.example.xpextractor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("xpextractor.DataReload")
+@Label("XP Extractor Data Reload Check")
+@Category("XP Extractor")
+@Description("A reload listener run, from the start of preparation until its apply step finishes")
+@Enabled(false)
+@StackTrace(false)
+public class DataReloadEvent extends Event {
+    @Label("Listener")
+    public String listener;
+    
+    @Label("Files Checked")
+    public int filesChecked;
+    
+    @Label("Problems")
+    public int problems;
+}
@@ -0,0 +1,33 @@
+package com.example.xpextractor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("xpextractor.EffectBurst")
+@Label("XP Extractor Effect Burst")
+@Category("XP Extractor")
+@Description("Feedback packets sent for one effect, either a coalesced cluster or a single player's feedback")
+@Enabled(false)
+@StackTrace(false)
+public class EffectBurstEvent extends Event {
+    @Label("Result")
+    public String result;
+    
+    @Label("Contributors")
+    public int contributors;
+    
+    @Label("Extractions")
+    public int extractions;
+    
+    @Label("Particle Budget")
+    @Description("Extractions times particle density; the upper bound on particles each full-detail viewer spawns")
+    public int particles;
+    
+    @Label("Packets")
+    public int packets;
+}
@@ -0,0 +1,29 @@
+package com.example.xpextractor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("xpextractor.Extraction")
+@Label("XP Extraction")
+@Category("XP Extractor")
+@Description("One server-side extraction: XP deducted, items or storage updated, effects queued")
+@Enabled(false)
+@StackTrace(false)
+public class ExtractionEvent extends Event {
+    @Label("Player")
+    public String player;
+    
+    @Label("Mode")
+    public String mode;
+    
+    @Label("Extractions")
+    public int extractions;
+    
+    @Label("XP Cost")
+    public long xpCost;
+}
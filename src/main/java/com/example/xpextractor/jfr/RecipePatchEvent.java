@@ -0,0 +1,29 @@
+package com.example.xpextractor.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("xpextractor.RecipePatch")
+@Label("XP Extractor Recipe Patch")
+@Category("XP Extractor")
+@Description("Recipe check and unlock pass run when the server starts or data packs are reloaded")
+@Enabled(false)
+@StackTrace(false)
+public class RecipePatchEvent extends Event {
+    @Label("Trigger")
+    public String trigger;
+    
+    @Label("Recipes Found")
+    public boolean recipesFound;
+    
+    @Label("Players Checked")
+    public int playersChecked;
+    
+    @Label("Players Unlocked")
+    public int playersUnlocked;
+}
@@ -0,0 +1,156 @@
+package com.example.xpextractor.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Per-player totals folded from the ledger, plus the position they cover. A snapshot stores
+// both, so folding only has to read the records written after it.
+public final class LedgerBalances {
+    static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final long SNAPSHOT_MAGIC = 0x5850534E41505348L; // "XPSNAPSH"
+    private static final int SNAPSHOT_VERSION = 1;
+    
+    private final Map<UUID, long[]> totals = new HashMap<>();
+    private int segment;
+    private int record;
+    private long records;
+    
+    public static LedgerBalances load(Path directory, boolean useSnapshot) throws IOException {
+        LedgerBalances balances = new LedgerBalances();
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (useSnapshot && Files.exists(snapshot)) {
+            balances.readSnapshot(snapshot);
+        }
+        balances.foldSegments(directory);
+        return balances;
+    }
+    
+    void apply(long mostSignificantBits, long leastSignificantBits, long packed) {
+        int typeId = LedgerFormat.typeId(packed);
+        if (typeId <= 0 || typeId >= LedgerEntryType.ID_LIMIT) {
+            return;
+        }
+        long[] perType = totals.computeIfAbsent(new UUID(mostSignificantBits, leastSignificantBits), uuid -> new long[LedgerEntryType.ID_LIMIT]);
+        perType[typeId] += LedgerFormat.amount(packed);
+        records++;
+    }
+    
+    void advanceTo(int segment, int record) {
+        this.segment = segment;
+        this.record = record;
+    }
+    
+    int getSegment() {
+        return segment;
+    }
+    
+    int getRecord() {
+        return record;
+    }
+    
+    public long getRecords() {
+        return records;
+    }
+    
+    public Map<UUID, long[]> getTotals() {
+        return totals;
+    }
+    
+    // Net XP the player moved out of their XP bar into bottles or storage, indexed totals from getTotals()
+    public static long balance(long[] perType) {
+        long balance = 0;
+        for (LedgerEntryType type : LedgerEntryType.values()) {
+            balance += type.getSign() * perType[type.getId()];
+        }
+        return balance;
+    }
+    
+    private void foldSegments(Path directory) throws IOException {
+        for (int index : LedgerFormat.segmentIndexes(directory)) {
+            if (index < segment) {
+                continue;
+            }
+            int start = index == segment ? record : 0;
+            Path path = LedgerFormat.segmentPath(directory, index);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                int capacity = LedgerFormat.recordCapacity(channel.size());
+                if (capacity == 0) {
+                    continue;
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, LedgerFormat.recordOffset(capacity));
+                if (!LedgerFormat.checkHeader(buffer, path)) {
+                    continue;
+                }
+                int end = LedgerFormat.findEnd(buffer, capacity);
+                for (int i = start; i < end; i++) {
+                    int offset = LedgerFormat.recordOffset(i);
+                    apply(buffer.getLong(offset + 8), buffer.getLong(offset + 16), buffer.getLong(offset + 24));
+                }
+                advanceTo(index, Math.max(start, end));
+            }
+        }
+    }
+    
+    void writeSnapshot(Path directory) throws IOException {
+        Path target = directory.resolve(SNAPSHOT_FILE);
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeLong(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(segment);
+            out.writeInt(record);
+            out.writeLong(records);
+            out.writeInt(LedgerEntryType.ID_LIMIT);
+            out.writeInt(totals.size());
+            for (Map.Entry<UUID, long[]> entry : totals.entrySet()) {
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                for (long total : entry.getValue()) {
+                    out.writeLong(total);
+                }
+            }
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private void readSnapshot(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readLong() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a version " + SNAPSHOT_VERSION + " XP ledger snapshot: " + path);
+            }
+            segment = in.readInt();
+            record = in.readInt();
+            records = in.readLong();
+            int typeLimit = in.readInt();
+            int players = in.readInt();
+            for (int p = 0; p < players; p++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                long[] perType = new long[LedgerEntryType.ID_LIMIT];
+                for (int t = 0; t < typeLimit; t++) {
+                    long total = in.readLong();
+                    if (t < perType.length) {
+                        perType[t] = total;
+                    }
+                }
+                totals.put(uuid, perType);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.xpextractor.ledger;
+
+// Ids are written to disk, so existing ones must never change; add new types at the end.
+// The sign says how an entry moves the player's balance: XP taken from their bar into bottles or
+// storage counts up, XP handed back counts down, and moves between stores do not count.
+public enum LedgerEntryType {
+    EXTRACT(1, 1),
+    BANK_DEPOSIT(2, 1),
+    BANK_WITHDRAW(3, -1),
+    VACUUM(4, 1),
+    CONDENSED_CONSUME(5, -1),
+    RESERVOIR_DEPOSIT(6, 1),
+    RESERVOIR_WITHDRAW(7, -1),
+    RESERVOIR_TRANSFER(8, 0),
+    // Automation has no player; these are recorded against XpLedger.blockId of the block doing it
+    RESERVOIR_BOTTLE(9, -1),
+    CONDENSED_DISPENSE(10, -1);
+    
+    public static final int ID_LIMIT = 11;
+    private static final LedgerEntryType[] BY_ID = new LedgerEntryType[ID_LIMIT];
+    
+    static {
+        for (LedgerEntryType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+    
+    private final int id;
+    private final int sign;
+    
+    LedgerEntryType(int id, int sign) {
+        this.id = id;
+        this.sign = sign;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public int getSign() {
+        return sign;
+    }
+    
+    public static LedgerEntryType byId(int id) {
+        return id > 0 && id < ID_LIMIT ? BY_ID[id] : null;
+    }
+}
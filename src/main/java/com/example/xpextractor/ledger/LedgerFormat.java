@@ -0,0 +1,110 @@
+package com.example.xpextractor.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Segment files are a 32-byte header slot followed by fixed 32-byte records:
+//   [0]  epoch millis, never 0, so an all-zero slot marks the end of the written part
+//   [8]  player UUID, most significant bits
+//   [16] player UUID, least significant bits
+//   [24] entry type id in the top byte, amount in the low 56 bits
+// Everything is big-endian, the ByteBuffer default.
+final class LedgerFormat {
+    static final long MAGIC = 0x58504C4544474552L; // "XPLEDGER"
+    static final int VERSION = 1;
+    static final int RECORD_BYTES = 32;
+    static final int RECORDS_PER_SEGMENT = 1 << 20;
+    static final int SEGMENT_BYTES = RECORD_BYTES * (RECORDS_PER_SEGMENT + 1);
+    static final long MAX_AMOUNT = (1L << 56) - 1;
+    
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".xpl";
+    
+    private LedgerFormat() {
+    }
+    
+    static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+    
+    // Sorted segment indexes present in the directory
+    static List<Integer> segmentIndexes(Path directory) throws IOException {
+        List<Integer> indexes = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return indexes;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        indexes.add(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            });
+        }
+        indexes.sort(null);
+        return indexes;
+    }
+    
+    static int recordOffset(int record) {
+        return (record + 1) * RECORD_BYTES;
+    }
+    
+    static long pack(LedgerEntryType type, long amount) {
+        return ((long) type.getId() << 56) | Math.min(amount, MAX_AMOUNT);
+    }
+    
+    static int typeId(long packed) {
+        return (int) (packed >>> 56);
+    }
+    
+    static long amount(long packed) {
+        return packed & MAX_AMOUNT;
+    }
+    
+    static void writeHeader(ByteBuffer segment, int index) {
+        segment.putLong(0, MAGIC);
+        segment.putInt(8, VERSION);
+        segment.putInt(12, RECORD_BYTES);
+        segment.putInt(16, index);
+    }
+    
+    // Returns false for a freshly created, still empty file
+    static boolean checkHeader(ByteBuffer segment, Path path) throws IOException {
+        long magic = segment.getLong(0);
+        if (magic == 0L) {
+            return false;
+        }
+        if (magic != MAGIC || segment.getInt(8) != VERSION || segment.getInt(12) != RECORD_BYTES) {
+            throw new IOException("Not a version " + VERSION + " XP ledger segment: " + path);
+        }
+        return true;
+    }
+    
+    // Records are only ever appended, so the written ones form a prefix and the end can be binary searched
+    static int findEnd(ByteBuffer segment, int recordLimit) {
+        int low = 0;
+        int high = recordLimit;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segment.getLong(recordOffset(mid)) != 0L) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    // How many records a segment file of this size can hold, for segments cut short by a crash
+    static int recordCapacity(long fileSize) {
+        return (int) Math.max(0L, Math.min(RECORDS_PER_SEGMENT, fileSize / RECORD_BYTES - 1));
+    }
+}
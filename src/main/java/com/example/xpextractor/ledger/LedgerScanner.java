@@ -0,0 +1,46 @@
+package com.example.xpextractor.ledger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Offline tool that folds a ledger directory into per-player balances. Needs nothing but the mod jar:
+//   java -cp xpextractor.jar com.example.xpextractor.ledger.LedgerScanner <world>/xpextractor/ledger [--full]
+// --full ignores the snapshot and re-reads every segment, which also checks the snapshot against the raw records.
+public final class LedgerScanner {
+    private LedgerScanner() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: LedgerScanner <ledger directory> [--full]");
+            System.exit(2);
+        }
+        Path directory = Path.of(args[0]);
+        boolean full = args.length > 1 && args[1].equals("--full");
+        
+        LedgerBalances balances = LedgerBalances.load(directory, !full);
+        List<Map.Entry<UUID, long[]>> players = new ArrayList<>(balances.getTotals().entrySet());
+        // Lowest balance first: players who got more XP back than they put in are the ones to look at
+        players.sort((a, b) -> Long.compare(LedgerBalances.balance(a.getValue()), LedgerBalances.balance(b.getValue())));
+        
+        StringBuilder header = new StringBuilder("player,balance");
+        for (LedgerEntryType type : LedgerEntryType.values()) {
+            header.append(',').append(type.name().toLowerCase());
+        }
+        System.out.println(header);
+        
+        for (Map.Entry<UUID, long[]> entry : players) {
+            StringBuilder line = new StringBuilder();
+            line.append(entry.getKey()).append(',').append(LedgerBalances.balance(entry.getValue()));
+            for (LedgerEntryType type : LedgerEntryType.values()) {
+                line.append(',').append(entry.getValue()[type.getId()]);
+            }
+            System.out.println(line);
+        }
+        System.err.println(balances.getRecords() + " entries, " + players.size() + " players");
+    }
+}
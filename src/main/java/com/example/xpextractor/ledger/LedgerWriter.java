@@ -0,0 +1,223 @@
+package com.example.xpextractor.ledger;
+
+import com.example.xpextractor.XPExtractor;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Single-producer ring in front of a background thread that owns the mapped segment. The server
+// thread only copies four longs into the ring; when the ring is full the entry is dropped and
+// counted rather than waiting for the disk.
+final class LedgerWriter {
+    private static final int RING_CAPACITY = 1 << 16;
+    private static final int RING_MASK = RING_CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long FORCE_INTERVAL_MILLIS = 1000L;
+    private static final int SNAPSHOT_INTERVAL_RECORDS = 1 << 16;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000L;
+    
+    private final Path directory;
+    private final long[] ring = new long[RING_CAPACITY * 4];
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean failed;
+    private long dropped;
+    
+    // Owned by the writer thread
+    private LedgerBalances balances;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int record;
+    private boolean dirty;
+    private long lastForce;
+    private int sinceSnapshot;
+    
+    private LedgerWriter(Path directory) {
+        this.directory = directory;
+        this.thread = new Thread(this::run, "XP Extractor Ledger Writer");
+        this.thread.setDaemon(true);
+    }
+    
+    // Opening and catching up with the existing files happens on the writer thread too
+    static LedgerWriter start(Path directory) {
+        LedgerWriter writer = new LedgerWriter(directory);
+        writer.thread.start();
+        return writer;
+    }
+    
+    // Server thread only
+    boolean append(UUID player, LedgerEntryType type, long amount) {
+        long h = head.get();
+        if (failed || h - tail.get() >= RING_CAPACITY) {
+            if (dropped++ == 0 && !failed) {
+                XPExtractor.LOGGER.warn("XP ledger is falling behind, dropping entries");
+            }
+            return false;
+        }
+        int i = (int) (h & RING_MASK) << 2;
+        ring[i] = System.currentTimeMillis();
+        ring[i + 1] = player.getMostSignificantBits();
+        ring[i + 2] = player.getLeastSignificantBits();
+        ring[i + 3] = LedgerFormat.pack(type, amount);
+        head.lazySet(h + 1);
+        return true;
+    }
+    
+    long getDropped() {
+        return dropped;
+    }
+    
+    // Writes out everything already queued, then snapshots and closes the files
+    void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped > 0) {
+            XPExtractor.LOGGER.warn("XP ledger dropped " + dropped + " entries this session");
+        }
+    }
+    
+    private void run() {
+        try {
+            open();
+        } catch (IOException e) {
+            failed = true;
+            XPExtractor.LOGGER.error("Failed to open the XP ledger in " + directory + ", transactions will not be recorded", e);
+            return;
+        }
+        
+        try {
+            while (true) {
+                if (drain() == 0) {
+                    if (!running) {
+                        break;
+                    }
+                    forceIfDue();
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            failed = true;
+            XPExtractor.LOGGER.error("XP ledger writer stopped", e);
+        } finally {
+            finish();
+        }
+    }
+    
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        balances = LedgerBalances.load(directory, true);
+        
+        int last = 0;
+        for (int index : LedgerFormat.segmentIndexes(directory)) {
+            last = index;
+        }
+        openSegment(last);
+        if (record >= LedgerFormat.RECORDS_PER_SEGMENT) {
+            rotate();
+        }
+        XPExtractor.LOGGER.info("XP ledger open at " + LedgerFormat.segmentPath(directory, segmentIndex) + ", " + balances.getRecords() + " entries recorded so far");
+    }
+    
+    private void openSegment(int index) throws IOException {
+        Path path = LedgerFormat.segmentPath(directory, index);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Mapping past the end grows the file to the full segment size up front
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, LedgerFormat.SEGMENT_BYTES);
+        segmentIndex = index;
+        if (LedgerFormat.checkHeader(segment, path)) {
+            record = LedgerFormat.findEnd(segment, LedgerFormat.RECORDS_PER_SEGMENT);
+        } else {
+            LedgerFormat.writeHeader(segment, index);
+            record = 0;
+        }
+        balances.advanceTo(segmentIndex, record);
+    }
+    
+    private void rotate() throws IOException {
+        segment.force();
+        channel.close();
+        openSegment(segmentIndex + 1);
+        snapshot();
+    }
+    
+    private int drain() throws IOException {
+        long t = tail.get();
+        long h = head.get();
+        if (t == h) {
+            return 0;
+        }
+        for (long next = t; next < h; next++) {
+            int i = (int) (next & RING_MASK) << 2;
+            write(ring[i], ring[i + 1], ring[i + 2], ring[i + 3]);
+        }
+        tail.lazySet(h);
+        return (int) (h - t);
+    }
+    
+    private void write(long timestamp, long mostSignificantBits, long leastSignificantBits, long packed) throws IOException {
+        if (record >= LedgerFormat.RECORDS_PER_SEGMENT) {
+            rotate();
+        }
+        int offset = LedgerFormat.recordOffset(record);
+        segment.putLong(offset + 8, mostSignificantBits);
+        segment.putLong(offset + 16, leastSignificantBits);
+        segment.putLong(offset + 24, packed);
+        // The timestamp goes in last: a record only counts as written once it is non-zero
+        segment.putLong(offset, timestamp);
+        record++;
+        dirty = true;
+        
+        balances.apply(mostSignificantBits, leastSignificantBits, packed);
+        balances.advanceTo(segmentIndex, record);
+        if (++sinceSnapshot >= SNAPSHOT_INTERVAL_RECORDS) {
+            snapshot();
+        }
+    }
+    
+    private void forceIfDue() {
+        long now = System.currentTimeMillis();
+        if (dirty && now - lastForce >= FORCE_INTERVAL_MILLIS) {
+            segment.force();
+            dirty = false;
+            lastForce = now;
+        }
+    }
+    
+    // The snapshot claims everything up to the current record, so that has to be on disk first
+    private void snapshot() throws IOException {
+        segment.force();
+        dirty = false;
+        lastForce = System.currentTimeMillis();
+        balances.writeSnapshot(directory);
+        sinceSnapshot = 0;
+    }
+    
+    private void finish() {
+        try {
+            if (segment != null) {
+                snapshot();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            XPExtractor.LOGGER.error("Failed to close the XP ledger cleanly", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.xpextractor.ledger;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.config.ModConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockPos;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+// Records every XP movement the mod makes into an append-only ledger in the world folder
+public class XpLedger {
+    private static volatile LedgerWriter writer;
+    
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(XpLedger::open);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> close());
+    }
+    
+    public static Path getDirectory(MinecraftServer server) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve(XPExtractor.MOD_ID).resolve("ledger");
+    }
+    
+    private static void open(MinecraftServer server) {
+        if (!ModConfig.getInstance().isLedgerEnabled()) {
+            return;
+        }
+        writer = LedgerWriter.start(getDirectory(server));
+    }
+    
+    private static void close() {
+        LedgerWriter current = writer;
+        writer = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+    
+    // Account for XP moved by a block rather than a player: the high half is zero, which random
+    // player UUIDs never are, and the low half is the packed block position
+    public static UUID blockId(BlockPos pos) {
+        return new UUID(0L, pos.asLong());
+    }
+    
+    public static void record(PlayerEntity player, LedgerEntryType type, long amount) {
+        record(player.getUuid(), type, amount);
+    }
+    
+    // Server thread only; the writer behind it is single-producer
+    public static void record(UUID account, LedgerEntryType type, long amount) {
+        LedgerWriter current = writer;
+        if (current != null && amount > 0) {
+            current.append(account, type, amount);
+        }
+    }
+}
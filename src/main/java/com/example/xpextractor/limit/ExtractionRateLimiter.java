@@ -0,0 +1,114 @@
+package com.example.xpextractor.limit;
+
+import com.example.xpextractor.config.ModConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.util.Util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ExtractionRateLimiter {
+    public static final int HISTORY_SIZE = 32;
+
+    // Bucket state is packed into one long: monotonic millis of the last take above, milli-tokens below
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI_TOKENS_PER_TOKEN = 1000L;
+    private static final int MAX_BURST = (int) (TOKEN_MASK / MILLI_TOKENS_PER_TOKEN);
+
+    private static final PlayerStateMap<PlayerLimitState> STATES = new PlayerStateMap<>();
+
+    private static volatile long capacityMilliTokens = 5 * MILLI_TOKENS_PER_TOKEN;
+    private static volatile long refillPerSecond = 2;
+
+    public static void register() {
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> STATES.remove(handler.getPlayer().getUuid()));
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> STATES.clear());
+    }
+
+    public static void configure(ModConfig config) {
+        capacityMilliTokens = Math.min(MAX_BURST, config.getExtractionBurst()) * MILLI_TOKENS_PER_TOKEN;
+        refillPerSecond = config.getExtractionsPerSecond();
+    }
+
+    public static boolean tryAcquire(PlayerEntity player) {
+        UUID uuid = player.getUuid();
+        PlayerLimitState state = STATES.get(uuid);
+        if (state == null) {
+            state = STATES.computeIfAbsent(uuid, k -> new PlayerLimitState(capacityMilliTokens));
+        }
+
+        long capacity = capacityMilliTokens;
+        long rate = refillPerSecond;
+        long now = Util.getMeasuringTimeMs();
+        AtomicLong bucket = state.bucket;
+
+        while (true) {
+            long packed = bucket.get();
+            long tokens = refill(packed & TOKEN_MASK, now - (packed >>> TOKEN_BITS), rate, capacity);
+
+            if (tokens < MILLI_TOKENS_PER_TOKEN) {
+                state.rejected++;
+                return false;
+            }
+
+            long next = (now << TOKEN_BITS) | (tokens - MILLI_TOKENS_PER_TOKEN);
+            if (bucket.compareAndSet(packed, next)) {
+                state.record(System.currentTimeMillis());
+                return true;
+            }
+        }
+    }
+
+    // Milli-tokens after `elapsedMillis` of refilling at `perSecond` tokens a second, capped at `capacity`.
+    // One token per second is 1000 milli-tokens per 1000 ms, so elapsed millis scale directly.
+    static long refill(long milliTokens, long elapsedMillis, long perSecond, long capacity) {
+        long elapsed = Math.max(0L, elapsedMillis);
+        long missing = capacity - milliTokens;
+        if (missing <= 0L || elapsed >= missing / perSecond + 1) {
+            return capacity;
+        }
+        return Math.min(capacity, milliTokens + elapsed * perSecond);
+    }
+
+    public static PlayerLimitState getState(UUID uuid) {
+        return STATES.get(uuid);
+    }
+
+    // The bucket is safe to take from any thread; history and rejections are only touched on the server thread
+    public static final class PlayerLimitState {
+        private final AtomicLong bucket;
+        private final long[] history = new long[HISTORY_SIZE];
+        private int head;
+        private int size;
+        private long rejected;
+
+        private PlayerLimitState(long initialMilliTokens) {
+            this.bucket = new AtomicLong((Util.getMeasuringTimeMs() << TOKEN_BITS) | initialMilliTokens);
+        }
+
+        private void record(long timestamp) {
+            history[head] = timestamp;
+            head = (head + 1) % HISTORY_SIZE;
+            if (size < HISTORY_SIZE) {
+                size++;
+            }
+        }
+
+        // Oldest first
+        public long[] getHistory() {
+            long[] copy = new long[size];
+            int start = (head - size + HISTORY_SIZE) % HISTORY_SIZE;
+            for (int i = 0; i < size; i++) {
+                copy[i] = history[(start + i) % HISTORY_SIZE];
+            }
+            return copy;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.xpextractor.limit;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+// UUID-keyed open-addressing map for per-player state. Both halves of the UUID are stored and
+// compared, so two players never share a slot. Lookups run without locks against an immutable
+// table published through a volatile field; joins and leaves copy the table, which is cheap at
+// player-count sizes and keeps the hot read path to a few array loads. A null value marks a free slot.
+final class PlayerStateMap<V> {
+    private volatile Table table = new Table(16);
+
+    V get(UUID key) {
+        Table current = table;
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int mask = current.values.length - 1;
+        for (int i = mix(msb, lsb) & mask; ; i = (i + 1) & mask) {
+            Object value = current.values[i];
+            if (value == null) {
+                return null;
+            }
+            if (current.msbs[i] == msb && current.lsbs[i] == lsb) {
+                @SuppressWarnings("unchecked")
+                V found = (V) value;
+                return found;
+            }
+        }
+    }
+
+    synchronized V computeIfAbsent(UUID key, Function<UUID, V> factory) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        V created = factory.apply(key);
+        Table current = table;
+        int capacity = current.values.length;
+        if ((current.size + 1) * 2 > capacity) {
+            capacity *= 2;
+        }
+        Table next = current.copy(capacity, null);
+        next.insert(key.getMostSignificantBits(), key.getLeastSignificantBits(), created);
+        table = next;
+        return created;
+    }
+
+    synchronized void remove(UUID key) {
+        if (get(key) != null) {
+            table = table.copy(table.values.length, key);
+        }
+    }
+
+    synchronized void clear() {
+        table = new Table(16);
+    }
+
+    private static int mix(long msb, long lsb) {
+        long h = (msb * 0x9E3779B97F4A7C15L) ^ (lsb * 0xC2B2AE3D27D4EB4FL);
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Table {
+        final long[] msbs;
+        final long[] lsbs;
+        final Object[] values;
+        int size;
+
+        Table(int capacity) {
+            this.msbs = new long[capacity];
+            this.lsbs = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        Table copy(int capacity, UUID skip) {
+            Table next = new Table(capacity);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    continue;
+                }
+                if (skip != null && msbs[i] == skip.getMostSignificantBits() && lsbs[i] == skip.getLeastSignificantBits()) {
+                    continue;
+                }
+                next.insert(msbs[i], lsbs[i], values[i]);
+            }
+            return next;
+        }
+
+        void insert(long msb, long lsb, Object value) {
+            int mask = values.length - 1;
+            int i = mix(msb, lsb) & mask;
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            msbs[i] = msb;
+            lsbs[i] = lsb;
+            values[i] = value;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.xpextractor.metrics;
+
+import javax.management.ConstructorParameters;
+
+// One histogram as the MBean shows it, in microseconds; JMX maps it to CompositeData
+public final class HistogramStats {
+    private static final long NANOS_PER_MICRO = 1000L;
+    
+    private final long count;
+    private final double meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+    
+    @ConstructorParameters({"count", "meanMicros", "p50Micros", "p99Micros", "maxMicros"})
+    public HistogramStats(long count, double meanMicros, long p50Micros, long p99Micros, long maxMicros) {
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+    
+    static HistogramStats of(LatencyHistogram.Snapshot snapshot) {
+        return new HistogramStats(
+            snapshot.count(),
+            snapshot.meanNanos() / NANOS_PER_MICRO,
+            snapshot.p50Nanos() / NANOS_PER_MICRO,
+            snapshot.p99Nanos() / NANOS_PER_MICRO,
+            snapshot.maxNanos() / NANOS_PER_MICRO
+        );
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+    
+    public long getP50Micros() {
+        return p50Micros;
+    }
+    
+    public long getP99Micros() {
+        return p99Micros;
+    }
+    
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+}
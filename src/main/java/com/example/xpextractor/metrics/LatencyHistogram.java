@@ -0,0 +1,63 @@
+package com.example.xpextractor.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Power-of-two buckets over nanoseconds: bucket i holds values below 2^i and at least 2^(i-1).
+// Recording is one leading-zero count and a few atomic adds, with no locks or allocation.
+public final class LatencyHistogram {
+    private static final int BUCKETS = 64;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+    
+    LatencyHistogram() {
+    }
+    
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+    
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+    
+    // Read while other threads may still be recording, so the figures can be off by the in-flight samples
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        long samples = count.sum();
+        double mean = samples == 0 ? 0.0 : (double) totalNanos.sum() / samples;
+        return new Snapshot(samples, mean, upperBound(counts, total, 0.50), upperBound(counts, total, 0.99), maxNanos.get());
+    }
+    
+    private static long upperBound(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return 0L;
+        }
+        long target = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+    
+    // Percentiles are bucket upper bounds, so they overestimate by at most a factor of two
+    public record Snapshot(long count, double meanNanos, long p50Nanos, long p99Nanos, long maxNanos) {
+    }
+}
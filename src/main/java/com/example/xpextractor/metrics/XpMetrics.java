@@ -0,0 +1,85 @@
+package com.example.xpextractor.metrics;
+
+import com.example.xpextractor.XPExtractor;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.loader.api.FabricLoader;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide counters and latency histograms. The maps are only filled while this class
+// initialises, so readers never need a lock; on a client the integrated server and the
+// renderer share the same values. Metrics only the client can produce (particles, sounds,
+// effect preset reloads) are left out of the maps on a dedicated server, where they would
+// always read zero.
+public final class XpMetrics {
+    public static final String OBJECT_NAME = "com.example.xpextractor:type=Metrics";
+    
+    private static final boolean CLIENT = FabricLoader.getInstance().getEnvironmentType() == EnvType.CLIENT;
+    
+    private static final Map<String, LongAdder> COUNTERS = new LinkedHashMap<>();
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new LinkedHashMap<>();
+    
+    public static final LongAdder EXTRACTIONS = counter("extractions");
+    public static final LongAdder BOTTLES_CREATED = counter("bottles_created");
+    public static final LongAdder USES_REJECTED = counter("uses_rejected");
+    public static final LongAdder USES_RATE_LIMITED = counter("uses_rate_limited");
+    public static final LongAdder EFFECT_PACKETS_SENT = counter("effect_packets_sent");
+    public static final LongAdder PARTICLES_EMITTED = clientCounter("particles_emitted");
+    public static final LongAdder SOUNDS_EMITTED = clientCounter("sounds_emitted");
+    public static final LongAdder RECIPE_UNLOCK_CALLS = counter("recipe_unlock_calls");
+    public static final LongAdder RECIPES_UNLOCKED = counter("recipes_unlocked");
+    
+    public static final LatencyHistogram USE_TIME = histogram("use_time");
+    public static final LatencyHistogram DATA_VALIDATION_RELOAD_TIME = histogram("data_validation_reload_time");
+    public static final LatencyHistogram EFFECT_PRESET_RELOAD_TIME = clientHistogram("effect_preset_reload_time");
+    
+    private XpMetrics() {
+    }
+    
+    private static LongAdder counter(String name) {
+        LongAdder adder = new LongAdder();
+        COUNTERS.put(name, adder);
+        return adder;
+    }
+    
+    private static LongAdder clientCounter(String name) {
+        return CLIENT ? counter(name) : new LongAdder();
+    }
+    
+    private static LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        HISTOGRAMS.put(name, histogram);
+        return histogram;
+    }
+    
+    private static LatencyHistogram clientHistogram(String name) {
+        return CLIENT ? histogram(name) : new LatencyHistogram();
+    }
+    
+    public static Map<String, LongAdder> counters() {
+        return Collections.unmodifiableMap(COUNTERS);
+    }
+    
+    public static Map<String, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(HISTOGRAMS);
+    }
+    
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new XpMetricsBean(), name);
+            }
+            XPExtractor.LOGGER.info("Registered XP Extractor metrics as JMX MBean " + OBJECT_NAME);
+        } catch (Exception e) {
+            XPExtractor.LOGGER.warn("Failed to register XP Extractor metrics with JMX", e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.xpextractor.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+final class XpMetricsBean implements XpMetricsMXBean {
+    private static final long NANOS_PER_MICRO = 1000L;
+    
+    @Override
+    public long getExtractions() {
+        return XpMetrics.EXTRACTIONS.sum();
+    }
+    
+    @Override
+    public long getBottlesCreated() {
+        return XpMetrics.BOTTLES_CREATED.sum();
+    }
+    
+    @Override
+    public long getUsesRejected() {
+        return XpMetrics.USES_REJECTED.sum();
+    }
+    
+    @Override
+    public long getUsesRateLimited() {
+        return XpMetrics.USES_RATE_LIMITED.sum();
+    }
+    
+    @Override
+    public long getEffectPacketsSent() {
+        return XpMetrics.EFFECT_PACKETS_SENT.sum();
+    }
+    
+    @Override
+    public long getRecipeUnlockCalls() {
+        return XpMetrics.RECIPE_UNLOCK_CALLS.sum();
+    }
+    
+    @Override
+    public long getRecipesUnlocked() {
+        return XpMetrics.RECIPES_UNLOCKED.sum();
+    }
+    
+    @Override
+    public long getUseCount() {
+        return XpMetrics.USE_TIME.snapshot().count();
+    }
+    
+    @Override
+    public double getUseTimeMeanMicros() {
+        return XpMetrics.USE_TIME.snapshot().meanNanos() / NANOS_PER_MICRO;
+    }
+    
+    @Override
+    public long getUseTimeP99Micros() {
+        return XpMetrics.USE_TIME.snapshot().p99Nanos() / NANOS_PER_MICRO;
+    }
+    
+    @Override
+    public long getUseTimeMaxMicros() {
+        return XpMetrics.USE_TIME.snapshot().maxNanos() / NANOS_PER_MICRO;
+    }
+    
+    @Override
+    public long getDataValidationReloadCount() {
+        return XpMetrics.DATA_VALIDATION_RELOAD_TIME.snapshot().count();
+    }
+    
+    @Override
+    public double getDataValidationReloadMeanMicros() {
+        return XpMetrics.DATA_VALIDATION_RELOAD_TIME.snapshot().meanNanos() / NANOS_PER_MICRO;
+    }
+    
+    @Override
+    public long getDataValidationReloadMaxMicros() {
+        return XpMetrics.DATA_VALIDATION_RELOAD_TIME.snapshot().maxNanos() / NANOS_PER_MICRO;
+    }
+    
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Map.Entry<String, LongAdder> entry : XpMetrics.counters().entrySet()) {
+            values.put(entry.getKey(), entry.getValue().sum());
+        }
+        return values;
+    }
+    
+    @Override
+    public Map<String, HistogramStats> getHistograms() {
+        Map<String, HistogramStats> values = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : XpMetrics.histograms().entrySet()) {
+            values.put(entry.getKey(), HistogramStats.of(entry.getValue().snapshot()));
+        }
+        return values;
+    }
+}
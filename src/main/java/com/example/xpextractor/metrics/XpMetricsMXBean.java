@@ -0,0 +1,40 @@
+package com.example.xpextractor.metrics;
+
+import java.util.Map;
+
+// Times are in microseconds; percentiles are bucket upper bounds
+public interface XpMetricsMXBean {
+    long getExtractions();
+    
+    long getBottlesCreated();
+    
+    long getUsesRejected();
+    
+    long getUsesRateLimited();
+    
+    long getEffectPacketsSent();
+    
+    long getRecipeUnlockCalls();
+    
+    long getRecipesUnlocked();
+    
+    long getUseCount();
+    
+    double getUseTimeMeanMicros();
+    
+    long getUseTimeP99Micros();
+    
+    long getUseTimeMaxMicros();
+    
+    long getDataValidationReloadCount();
+    
+    double getDataValidationReloadMeanMicros();
+    
+    long getDataValidationReloadMaxMicros();
+    
+    // Every counter, including the client-only ones when running on a client
+    Map<String, Long> getCounters();
+    
+    // Every latency histogram by name, including the client-only ones when running on a client
+    Map<String, HistogramStats> getHistograms();
+}
@@ -0,0 +1,12 @@
+package com.example.xpextractor.mixin;
+
+import net.minecraft.entity.ExperienceOrbEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(ExperienceOrbEntity.class)
+public interface ExperienceOrbEntityAccessor {
+    // Merged orbs keep one entity and count how many orbs it stands for
+    @Accessor("pickingCount")
+    int xpextractor$getPickingCount();
+}
@@ -0,0 +1,19 @@
+package com.example.xpextractor.mixin;
+
+import com.example.xpextractor.access.PermissionLevelAccess;
+import net.minecraft.server.PlayerManager;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+// The server resends the command tree on join, on op and deop and when cheats are toggled,
+// always with the player's new permission level, so this is where the cached level is kept current
+@Mixin(PlayerManager.class)
+public class PlayerManagerMixin {
+    @Inject(method = "sendCommandTree(Lnet/minecraft/server/network/ServerPlayerEntity;I)V", at = @At("HEAD"))
+    private void cachePermissionLevel(ServerPlayerEntity player, int permissionLevel, CallbackInfo ci) {
+        ((PermissionLevelAccess) player).xpextractor$setPermissionLevel(permissionLevel);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.xpextractor.mixin;
+
+import com.example.xpextractor.access.PermissionLevelAccess;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerPlayerEntity.class)
+public class ServerPlayerEntityMixin implements PermissionLevelAccess {
+    @Unique
+    private int xpextractor$permissionLevel = PermissionLevelAccess.UNKNOWN;
+    
+    @Override
+    public int xpextractor$getPermissionLevel() {
+        return xpextractor$permissionLevel;
+    }
+    
+    @Override
+    public void xpextractor$setPermissionLevel(int level) {
+        this.xpextractor$permissionLevel = level;
+    }
+    
+    // Respawning creates a new player entity without a command tree update
+    @Inject(method = "copyFrom", at = @At("RETURN"))
+    private void keepPermissionLevelOnCopy(ServerPlayerEntity oldPlayer, boolean alive, CallbackInfo ci) {
+        this.xpextractor$permissionLevel = ((PermissionLevelAccess) oldPlayer).xpextractor$getPermissionLevel();
+    }
+}
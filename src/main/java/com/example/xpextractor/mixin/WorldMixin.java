@@ -0,0 +1,32 @@
+package com.example.xpextractor.mixin;
+
+import com.example.xpextractor.access.ProfileSlotAccess;
+import com.example.xpextractor.config.ModConfig;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(World.class)
+public class WorldMixin implements ProfileSlotAccess {
+    @Unique
+    private ModConfig xpextractor$profileConfig;
+    
+    @Unique
+    private int xpextractor$profileSlot;
+    
+    @Override
+    public ModConfig xpextractor$getProfileConfig() {
+        return xpextractor$profileConfig;
+    }
+    
+    @Override
+    public int xpextractor$getProfileSlot() {
+        return xpextractor$profileSlot;
+    }
+    
+    @Override
+    public void xpextractor$setProfileSlot(ModConfig config, int slot) {
+        this.xpextractor$profileSlot = slot;
+        this.xpextractor$profileConfig = config;
+    }
+}
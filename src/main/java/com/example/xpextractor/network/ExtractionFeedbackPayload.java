@@ -0,0 +1,99 @@
+package com.example.xpextractor.network;
+
+import com.example.xpextractor.XPExtractor;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+public record ExtractionFeedbackPayload(
+    int entityId,
+    double x, double y, double z,
+    float handOffsetX, float handOffsetY, float handOffsetZ,
+    int extractionCount,
+    int particleDensity,
+    int detail,
+    int contributors,
+    long seed,
+    Result result,
+    long xpCost,
+    int bottles
+) implements CustomPayload {
+    public static final CustomPayload.Id<ExtractionFeedbackPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(XPExtractor.MOD_ID, "extraction_feedback"));
+    public static final PacketCodec<PacketByteBuf, ExtractionFeedbackPayload> CODEC =
+        CustomPayload.codecOf(ExtractionFeedbackPayload::write, ExtractionFeedbackPayload::new);
+
+    public enum Result {
+        SUCCESS,
+        INSUFFICIENT_XP,
+        TOO_DAMAGED,
+        DEPOSITED,
+        WITHDRAWN,
+        CONDENSED,
+        // Decoded from an id this side does not know, e.g. a mismatched mod version; never sent
+        UNKNOWN;
+
+        private static final Result[] VALUES = values();
+
+        static Result byId(int id) {
+            return id >= 0 && id < VALUES.length ? VALUES[id] : UNKNOWN;
+        }
+    }
+
+    public ExtractionFeedbackPayload withDetail(int detail) {
+        if (detail == this.detail) {
+            return this;
+        }
+        return new ExtractionFeedbackPayload(
+            entityId, x, y, z, handOffsetX, handOffsetY, handOffsetZ,
+            extractionCount, particleDensity, detail, contributors, seed, result, xpCost, bottles
+        );
+    }
+
+    public ExtractionFeedbackPayload forUser(int entityId, Result result, long xpCost, int bottles) {
+        return new ExtractionFeedbackPayload(
+            entityId, x, y, z, handOffsetX, handOffsetY, handOffsetZ,
+            extractionCount, particleDensity, detail, contributors, seed, result, xpCost, bottles
+        );
+    }
+
+    private ExtractionFeedbackPayload(PacketByteBuf buf) {
+        this(
+            buf.readVarInt(),
+            buf.readDouble(), buf.readDouble(), buf.readDouble(),
+            buf.readFloat(), buf.readFloat(), buf.readFloat(),
+            buf.readVarInt(),
+            buf.readVarInt(),
+            buf.readByte(),
+            buf.readVarInt(),
+            buf.readLong(),
+            Result.byId(buf.readByte()),
+            buf.readVarLong(),
+            buf.readVarInt()
+        );
+    }
+
+    private void write(PacketByteBuf buf) {
+        buf.writeVarInt(entityId);
+        buf.writeDouble(x);
+        buf.writeDouble(y);
+        buf.writeDouble(z);
+        buf.writeFloat(handOffsetX);
+        buf.writeFloat(handOffsetY);
+        buf.writeFloat(handOffsetZ);
+        buf.writeVarInt(extractionCount);
+        buf.writeVarInt(particleDensity);
+        buf.writeByte(detail);
+        buf.writeVarInt(contributors);
+        buf.writeLong(seed);
+        buf.writeByte(result.ordinal());
+        buf.writeVarLong(xpCost);
+        buf.writeVarInt(bottles);
+    }
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
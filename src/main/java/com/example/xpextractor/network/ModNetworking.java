@@ -0,0 +1,13 @@
+package com.example.xpextractor.network;
+
+import com.example.xpextractor.XPExtractor;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+
+public class ModNetworking {
+    public static void registerPayloads() {
+        XPExtractor.LOGGER.info("Registering network payloads for " + XPExtractor.MOD_ID);
+        
+        PayloadTypeRegistry.playS2C().register(ExtractionFeedbackPayload.ID, ExtractionFeedbackPayload.CODEC);
+        PayloadTypeRegistry.playS2C().register(ServerSettingsPayload.ID, ServerSettingsPayload.CODEC);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.xpextractor.network;
+
+import com.example.xpextractor.XPExtractor;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+// Server config values the client has to agree on to predict item use correctly
+public record ServerSettingsPayload(boolean holdToExtract) implements CustomPayload {
+    public static final CustomPayload.Id<ServerSettingsPayload> ID =
+        new CustomPayload.Id<>(Identifier.of(XPExtractor.MOD_ID, "server_settings"));
+    public static final PacketCodec<RegistryByteBuf, ServerSettingsPayload> CODEC = PacketCodec.tuple(
+        PacketCodecs.BOOL, ServerSettingsPayload::holdToExtract,
+        ServerSettingsPayload::new
+    );
+
+    @Override
+    public CustomPayload.Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.xpextractor.network;
+
+import com.example.xpextractor.config.ModConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+
+// Keeps the client's view of server-side settings in step, so both sides agree on whether a use
+// starts a hold. Sent on join and again whenever the config is reloaded.
+public class ServerSettingsSync {
+    private static volatile MinecraftServer server;
+    private static volatile boolean clientHoldToExtract;
+
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(started -> server = started);
+        ServerLifecycleEvents.SERVER_STOPPED.register(stopped -> server = null);
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, joined) -> sender.sendPacket(current()));
+        
+        // Reloads arrive on the config watcher thread
+        ModConfig.addListener(config -> {
+            MinecraftServer running = server;
+            if (running != null) {
+                running.execute(() -> {
+                    ServerSettingsPayload payload = current();
+                    for (ServerPlayerEntity player : running.getPlayerManager().getPlayerList()) {
+                        ServerPlayNetworking.send(player, payload);
+                    }
+                });
+            }
+        });
+    }
+
+    public static boolean isHoldToExtract(World world) {
+        return world.isClient ? clientHoldToExtract : ModConfig.getInstance().isHoldToExtract();
+    }
+
+    public static void applyOnClient(ServerSettingsPayload payload) {
+        clientHoldToExtract = payload.holdToExtract();
+    }
+
+    // Servers without the mod never send settings, so fall back to the default of single-click extraction
+    public static void resetOnClient() {
+        clientHoldToExtract = false;
+    }
+
+    private static ServerSettingsPayload current() {
+        return new ServerSettingsPayload(ModConfig.getInstance().isHoldToExtract());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.xpextractor.registry;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.block.XpReservoirBlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+
+public class ModBlockEntities {
+    public static final BlockEntityType<XpReservoirBlockEntity> XP_RESERVOIR = Registry.register(
+            Registries.BLOCK_ENTITY_TYPE,
+            Identifier.of(XPExtractor.MOD_ID, "xp_reservoir"),
+            BlockEntityType.Builder.create(XpReservoirBlockEntity::new, ModBlocks.XP_RESERVOIR).build(null));
+
+    public static void registerBlockEntities() {
+        XPExtractor.LOGGER.info("Registering block entities for " + XPExtractor.MOD_ID);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.xpextractor.registry;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.block.XpReservoirBlock;
+import net.fabricmc.fabric.api.itemgroup.v1.ItemGroupEvents;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.MapColor;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemGroups;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.sound.BlockSoundGroup;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Rarity;
+
+public class ModBlocks {
+    public static final Block XP_RESERVOIR = registerBlock("xp_reservoir",
+            new XpReservoirBlock(AbstractBlock.Settings.create()
+                    .mapColor(MapColor.IRON_GRAY)
+                    .strength(3.5f)
+                    .sounds(BlockSoundGroup.LODESTONE)),
+            new Item.Settings().rarity(Rarity.UNCOMMON));
+
+    private static Block registerBlock(String name, Block block, Item.Settings itemSettings) {
+        Identifier id = Identifier.of(XPExtractor.MOD_ID, name);
+        Registry.register(Registries.ITEM, id, new BlockItem(block, itemSettings));
+        return Registry.register(Registries.BLOCK, id, block);
+    }
+
+    public static void registerModBlocks() {
+        XPExtractor.LOGGER.info("Registering mod blocks for " + XPExtractor.MOD_ID);
+
+        ItemGroupEvents.modifyEntriesEvent(ItemGroups.FUNCTIONAL).register(entries -> {
+            entries.add(XP_RESERVOIR);
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.xpextractor.registry;
+
+import com.example.xpextractor.XPExtractor;
+import com.mojang.serialization.Codec;
+import net.minecraft.component.ComponentType;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+
+public class ModComponents {
+    // XP points banked in an extractor; a VarLong keeps the usual small totals to a few bytes on the wire
+    public static final ComponentType<Long> STORED_XP = register("stored_xp",
+            ComponentType.<Long>builder()
+                    .codec(Codec.LONG)
+                    .packetCodec(PacketCodecs.VAR_LONG)
+                    .build());
+
+    private static <T> ComponentType<T> register(String name, ComponentType<T> type) {
+        return Registry.register(Registries.DATA_COMPONENT_TYPE, Identifier.of(XPExtractor.MOD_ID, name), type);
+    }
+
+    public static void registerModComponents() {
+        XPExtractor.LOGGER.info("Registering data components for " + XPExtractor.MOD_ID);
+    }
+}
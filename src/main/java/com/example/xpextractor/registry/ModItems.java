@@ -1,8 +1,10 @@
 package com.example.xpextractor.registry;
 
 import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.item.CondensedXpBottleItem;
 import com.example.xpextractor.item.XPExtractorItem;
 import net.fabricmc.fabric.api.itemgroup.v1.ItemGroupEvents;
+import net.minecraft.block.DispenserBlock;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemGroups;
 import net.minecraft.registry.Registries;
@@ -17,6 +19,10 @@ public class ModItems {
                     .fireproof()
                     .rarity(Rarity.UNCOMMON)));
 
+    public static final Item CONDENSED_XP_BOTTLE = registerItem("condensed_experience_bottle",
+            new CondensedXpBottleItem(new Item.Settings()
+                    .rarity(Rarity.UNCOMMON)));
+
     private static Item registerItem(String name, Item item) {
         return Registry.register(Registries.ITEM, Identifier.of(XPExtractor.MOD_ID, name), item);
     }
@@ -24,6 +30,8 @@ public class ModItems {
     public static void registerModItems() {
         XPExtractor.LOGGER.info("Registering mod items for " + XPExtractor.MOD_ID);
         
+        DispenserBlock.registerBehavior(CONDENSED_XP_BOTTLE, CondensedXpBottleItem.DISPENSER_BEHAVIOR);
+        
         ItemGroupEvents.modifyEntriesEvent(ItemGroups.TOOLS).register(entries -> {
             entries.add(XP_EXTRACTOR);
         });
@@ -0,0 +1,128 @@
+package com.example.xpextractor.registry;
+
+import com.example.xpextractor.XPExtractor;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.RecipeManager;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class RecipeDiagnostics {
+    public static final List<Identifier> TRACKED_RECIPES = List.of(
+        Identifier.of(XPExtractor.MOD_ID, "xp_extractor")
+    );
+
+    private static final DateTimeFormatter REPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // Direct ID lookups only; never walks the full recipe list
+    public static boolean logStatus(RecipeManager recipeManager) {
+        int found = 0;
+        for (Identifier id : TRACKED_RECIPES) {
+            if (recipeManager.get(id).isPresent()) {
+                found++;
+            } else {
+                XPExtractor.LOGGER.warn("XP Extractor recipe missing: " + id + " (run /xpextractor diagnose for details)");
+            }
+        }
+        XPExtractor.LOGGER.info("XP Extractor recipes loaded: " + found + "/" + TRACKED_RECIPES.size());
+        return found > 0;
+    }
+
+    // Captures the recipe collection on the calling (server) thread; the heavy work and file output run on the IO pool
+    public static CompletableFuture<Path> writeReport(MinecraftServer server) {
+        RecipeManager recipeManager = server.getRecipeManager();
+        Collection<RecipeEntry<?>> recipes = recipeManager.values();
+        List<String> trackedStatus = new ArrayList<>(TRACKED_RECIPES.size());
+        for (Identifier id : TRACKED_RECIPES) {
+            trackedStatus.add(id + ": " + (recipeManager.get(id).isPresent() ? "loaded" : "MISSING"));
+        }
+
+        Path reportDir = FabricLoader.getInstance().getGameDir().resolve(XPExtractor.MOD_ID);
+        Path reportFile = reportDir.resolve("diagnostics-" + LocalDateTime.now().format(REPORT_TIMESTAMP) + ".txt");
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Files.createDirectories(reportDir);
+                try (BufferedWriter writer = Files.newBufferedWriter(reportFile)) {
+                    write(writer, recipes, trackedStatus);
+                }
+                return reportFile;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write diagnostics report to " + reportFile, e);
+            }
+        }, Util.getIoWorkerExecutor());
+    }
+
+    private static void write(BufferedWriter writer, Collection<RecipeEntry<?>> recipes, List<String> trackedStatus) throws IOException {
+        writer.write("XP Extractor recipe diagnostics");
+        writer.newLine();
+        writer.write("Item registered: " + Registries.ITEM.containsId(Identifier.of(XPExtractor.MOD_ID, "xp_extractor")));
+        writer.newLine();
+        writer.newLine();
+
+        writer.write("Tracked recipes:");
+        writer.newLine();
+        for (String line : trackedStatus) {
+            writer.write("- " + line);
+            writer.newLine();
+        }
+        writer.newLine();
+
+        Object2IntOpenHashMap<String> namespaces = new Object2IntOpenHashMap<>();
+        Object2IntOpenHashMap<String> types = new Object2IntOpenHashMap<>();
+        List<Identifier> modRecipes = new ArrayList<>();
+        for (RecipeEntry<?> entry : recipes) {
+            Identifier id = entry.id();
+            namespaces.addTo(id.getNamespace(), 1);
+
+            RecipeType<?> type = entry.value().getType();
+            Identifier typeId = Registries.RECIPE_TYPE.getId(type);
+            types.addTo(typeId != null ? typeId.toString() : type.toString(), 1);
+
+            if (id.getNamespace().equals(XPExtractor.MOD_ID) || id.getPath().contains("xp_extractor")) {
+                modRecipes.add(id);
+            }
+        }
+
+        writer.write("Total recipes: " + recipes.size());
+        writer.newLine();
+        writeCounts(writer, "Recipes by namespace:", namespaces);
+        writeCounts(writer, "Recipes by type:", types);
+
+        writer.write("XP Extractor related recipes:");
+        writer.newLine();
+        modRecipes.sort(null);
+        for (Identifier id : modRecipes) {
+            writer.write("- " + id);
+            writer.newLine();
+        }
+    }
+
+    private static void writeCounts(BufferedWriter writer, String title, Object2IntMap<String> counts) throws IOException {
+        writer.write(title);
+        writer.newLine();
+        List<Object2IntMap.Entry<String>> sorted = new ArrayList<>(counts.object2IntEntrySet());
+        sorted.sort((a, b) -> a.getKey().compareTo(b.getKey()));
+        for (Object2IntMap.Entry<String> entry : sorted) {
+            writer.write("- " + entry.getKey() + ": " + entry.getIntValue());
+            writer.newLine();
+        }
+        writer.newLine();
+    }
+}
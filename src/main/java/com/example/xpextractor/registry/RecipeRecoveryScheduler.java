@@ -0,0 +1,115 @@
+package com.example.xpextractor.registry;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.config.ModConfig;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Turns "recipes are missing for this player" into at most one data pack reload per window;
+// all players that asked in the meantime are finished together once that reload completes.
+// Only touched from the server thread.
+public class RecipeRecoveryScheduler {
+    private static final int DEBOUNCE_TICKS = 40;
+    private static final long NOT_SCHEDULED = -1L;
+    
+    private static final Set<UUID> PENDING = new LinkedHashSet<>();
+    // Players already handed the item because the recipes could not be recovered
+    private static final Set<UUID> GIVEN = new HashSet<>();
+    private static long scheduledTick = NOT_SCHEDULED;
+    private static long lastReloadTick = Long.MIN_VALUE / 2;
+    private static boolean reloading;
+    private static boolean exhausted;
+    
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(RecipeRecoveryScheduler::tick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> reset());
+    }
+    
+    public static void request(ServerPlayerEntity player) {
+        if (exhausted) {
+            // A recovery reload already ran without producing the recipes; another one will not help,
+            // so later arrivals get the same fallback as the players in that reload
+            if (GIVEN.add(player.getUuid())) {
+                ModRecipes.givePlayerItemDirectly(player);
+            }
+            return;
+        }
+        
+        PENDING.add(player.getUuid());
+        if (scheduledTick != NOT_SCHEDULED || reloading) {
+            return;
+        }
+        
+        long now = player.getServer().getTicks();
+        long windowTicks = ModConfig.getInstance().getRecipeRecoveryWindowSeconds() * 20L;
+        scheduledTick = Math.max(now + DEBOUNCE_TICKS, lastReloadTick + windowTicks);
+        XPExtractor.LOGGER.info("XP Extractor recipes missing, recovery reload scheduled in " + (scheduledTick - now) + " ticks");
+    }
+    
+    private static void tick(MinecraftServer server) {
+        if (reloading || scheduledTick == NOT_SCHEDULED || server.getTicks() < scheduledTick) {
+            return;
+        }
+        
+        scheduledTick = NOT_SCHEDULED;
+        reloading = true;
+        lastReloadTick = server.getTicks();
+        XPExtractor.LOGGER.info("Reloading data packs to recover XP Extractor recipes for " + PENDING.size() + " player(s)");
+        
+        server.reloadResources(server.getDataPackManager().getEnabledIds()).whenComplete((ignored, error) -> server.execute(() -> {
+            reloading = false;
+            if (error != null) {
+                XPExtractor.LOGGER.error("Recovery reload failed", error);
+            }
+            finish(server);
+        }));
+    }
+    
+    private static void finish(MinecraftServer server) {
+        List<UUID> players = new ArrayList<>(PENDING);
+        PENDING.clear();
+        
+        int recovered = 0;
+        int fallback = 0;
+        for (UUID uuid : players) {
+            ServerPlayerEntity player = server.getPlayerManager().getPlayer(uuid);
+            if (player == null) {
+                continue;
+            }
+            
+            if (RecipeUnlocks.unlockFor(player) == RecipeUnlocks.Result.NO_RECIPES) {
+                if (GIVEN.add(uuid)) {
+                    ModRecipes.givePlayerItemDirectly(player);
+                }
+                fallback++;
+            } else {
+                recovered++;
+            }
+        }
+        
+        if (fallback > 0) {
+            exhausted = true;
+            XPExtractor.LOGGER.warn("Recovery reload did not restore XP Extractor recipes; gave the item directly to " + fallback + " player(s)");
+        } else {
+            XPExtractor.LOGGER.info("Recovered XP Extractor recipes for " + recovered + " player(s)");
+        }
+    }
+    
+    private static void reset() {
+        PENDING.clear();
+        GIVEN.clear();
+        scheduledTick = NOT_SCHEDULED;
+        lastReloadTick = Long.MIN_VALUE / 2;
+        reloading = false;
+        exhausted = false;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.xpextractor.registry;
+
+import com.example.xpextractor.XPExtractor;
+import com.example.xpextractor.access.RecipeUnlockMarker;
+import com.example.xpextractor.metrics.XpMetrics;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.recipe.RecipeManager;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecipeUnlocks {
+    public static final int NEVER_UNLOCKED = 0;
+    
+    private static volatile Resolved resolved;
+    
+    public static void register() {
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> invalidate());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> invalidate());
+    }
+    
+    public static void invalidate() {
+        resolved = null;
+    }
+    
+    public enum Result {
+        UNLOCKED,
+        ALREADY_UNLOCKED,
+        NO_RECIPES
+    }
+    
+    // Skips the recipe book entirely when the player was already handed this exact recipe set
+    public static Result unlockFor(ServerPlayerEntity player) {
+        XpMetrics.RECIPE_UNLOCK_CALLS.increment();
+        Resolved current = resolve(player.getServer().getRecipeManager());
+        if (current.recipes().isEmpty()) {
+            return Result.NO_RECIPES;
+        }
+        
+        RecipeUnlockMarker marker = (RecipeUnlockMarker) player;
+        if (marker.xpextractor$getRecipeGeneration() == current.generation()) {
+            return Result.ALREADY_UNLOCKED;
+        }
+        
+        player.unlockRecipes(current.recipes());
+        marker.xpextractor$setRecipeGeneration(current.generation());
+        XpMetrics.RECIPES_UNLOCKED.add(current.recipes().size());
+        XPExtractor.LOGGER.debug("Unlocked " + current.recipes().size() + " XP Extractor recipes for " + player.getName().getString());
+        return Result.UNLOCKED;
+    }
+    
+    private static Resolved resolve(RecipeManager recipeManager) {
+        Resolved current = resolved;
+        if (current == null) {
+            List<RecipeEntry<?>> recipes = new ArrayList<>();
+            // Generation is derived from the resolved IDs so a reload that changes nothing keeps markers valid
+            int generation = 1;
+            for (Identifier id : RecipeDiagnostics.TRACKED_RECIPES) {
+                var recipe = recipeManager.get(id);
+                if (recipe.isPresent()) {
+                    recipes.add(recipe.get());
+                    generation = 31 * generation + id.hashCode();
+                }
+            }
+            if (generation == NEVER_UNLOCKED) {
+                generation = 1;
+            }
+            current = new Resolved(List.copyOf(recipes), generation);
+            resolved = current;
+        }
+        return current;
+    }
+    
+    private record Resolved(List<RecipeEntry<?>> recipes, int generation) {
+    }
+}
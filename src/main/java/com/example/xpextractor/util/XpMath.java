@@ -0,0 +1,160 @@
+package com.example.xpextractor.util;
+
+import net.minecraft.entity.player.PlayerEntity;
+
+public final class XpMath {
+    public static final int POINTS_PER_BOTTLE = 7;
+    public static final int USAGE_FEE = 2;
+    public static final int POINTS_PER_EXTRACTION = POINTS_PER_BOTTLE + USAGE_FEE;
+
+    // Highest level whose total point count still fits in a long
+    public static final int MAX_EXACT_LEVEL = 1_400_000_000;
+
+    private static final int PREFIX_TABLE_SIZE = 256;
+    private static final long[] TOTAL_POINTS_FOR_LEVEL = new long[PREFIX_TABLE_SIZE + 1];
+
+    private static final long TOTAL_AT_LEVEL_15 = 315L;
+    private static final long TOTAL_AT_LEVEL_30 = 1395L;
+
+    static {
+        for (int level = 0; level <= PREFIX_TABLE_SIZE; level++) {
+            TOTAL_POINTS_FOR_LEVEL[level] = closedFormTotal(level);
+        }
+    }
+
+    private XpMath() {
+    }
+
+    public static long pointsForLevelUp(int level) {
+        if (level >= 30) {
+            return 112L + (level - 30L) * 9L;
+        } else if (level >= 15) {
+            return 37L + (level - 15L) * 5L;
+        } else {
+            return 7L + Math.max(0, level) * 2L;
+        }
+    }
+
+    public static long totalPointsForLevel(int level) {
+        if (level <= 0) {
+            return 0L;
+        }
+        if (level <= PREFIX_TABLE_SIZE) {
+            return TOTAL_POINTS_FOR_LEVEL[level];
+        }
+        if (level > MAX_EXACT_LEVEL) {
+            return Long.MAX_VALUE;
+        }
+        return closedFormTotal(level);
+    }
+
+    public static int levelForPoints(long points) {
+        if (points <= 0) {
+            return 0;
+        }
+
+        int level;
+        if (points < TOTAL_AT_LEVEL_15) {
+            level = (int) (Math.sqrt(points + 9.0) - 3.0);
+        } else if (points < TOTAL_AT_LEVEL_30) {
+            level = 15 + (int) ((Math.sqrt(34.5 * 34.5 + 10.0 * (points - TOTAL_AT_LEVEL_15)) - 34.5) / 5.0);
+        } else {
+            double m = (Math.sqrt(107.5 * 107.5 + 18.0 * (points - TOTAL_AT_LEVEL_30)) - 107.5) / 9.0;
+            level = (int) Math.min(MAX_EXACT_LEVEL, 30.0 + m);
+        }
+
+        // The square roots above can be off by one at segment edges and for very large totals
+        while (level > 0 && totalPointsForLevel(level) > points) {
+            level--;
+        }
+        while (level < MAX_EXACT_LEVEL && totalPointsForLevel(level + 1) <= points) {
+            level++;
+        }
+        return level;
+    }
+
+    public static long pointsIntoLevel(long points, int level) {
+        return Math.max(0L, points - totalPointsForLevel(level));
+    }
+
+    public static float progressForPoints(long points, int level) {
+        double progress = (double) pointsIntoLevel(points, level) / pointsForLevelUp(level);
+        // Clamped in float, since the largest double below one rounds back up to 1.0f
+        return (float) Math.min(progress, Math.nextDown(1.0f));
+    }
+
+    public static int possibleExtractions(long availablePoints, int maxExtractions) {
+        if (availablePoints < POINTS_PER_EXTRACTION || maxExtractions <= 0) {
+            return 0;
+        }
+        return (int) Math.min(maxExtractions, availablePoints / POINTS_PER_EXTRACTION);
+    }
+
+    public static long extractionCost(int extractions) {
+        return (long) extractions * POINTS_PER_EXTRACTION;
+    }
+
+    // Saturates at Long.MAX_VALUE for levels above MAX_EXACT_LEVEL, which /xp can still reach
+    public static long getTotalPoints(PlayerEntity player) {
+        int level = Math.max(0, player.experienceLevel);
+        long base = totalPointsForLevel(level);
+        long intoLevel = Math.round((double) player.experienceProgress * pointsForLevelUp(level));
+        return base > Long.MAX_VALUE - intoLevel ? Long.MAX_VALUE : base + intoLevel;
+    }
+
+    public static long deductPoints(PlayerEntity player, long points) {
+        if (points <= 0) {
+            return 0L;
+        }
+
+        long current = getTotalPoints(player);
+        long deducted = Math.min(points, current);
+        // A saturated total no longer maps back to the player's level, so rewriting it would drop them to MAX_EXACT_LEVEL
+        if (current != Long.MAX_VALUE) {
+            setTotalPoints(player, current - deducted);
+        }
+        player.totalExperience = (int) Math.max(0L, player.totalExperience - deducted);
+        return deducted;
+    }
+
+    // Same bookkeeping as PlayerEntity.addExperience, without its loop over every level gained
+    public static long addPoints(PlayerEntity player, long points) {
+        if (points <= 0) {
+            return 0L;
+        }
+
+        long current = getTotalPoints(player);
+        long added = Math.min(points, totalPointsForLevel(MAX_EXACT_LEVEL) - current);
+        if (added <= 0) {
+            return 0L;
+        }
+        setTotalPoints(player, current + added);
+        int score = (int) Math.min(Integer.MAX_VALUE, added);
+        player.addScore(score);
+        player.totalExperience = (int) Math.min(Integer.MAX_VALUE, player.totalExperience + added);
+        return added;
+    }
+
+    public static void setTotalPoints(PlayerEntity player, long points) {
+        long clamped = Math.max(0L, points);
+        int level = levelForPoints(clamped);
+
+        player.experienceLevel = level;
+        player.experienceProgress = progressForPoints(clamped, level);
+
+        // Server players only resend the XP bar when a level change marks it dirty
+        player.addExperienceLevels(0);
+    }
+
+    private static long closedFormTotal(long level) {
+        if (level <= 15) {
+            return level * level + 6L * level;
+        } else if (level <= 30) {
+            long k = level - 15L;
+            return TOTAL_AT_LEVEL_15 + 37L * k + 5L * (k * (k - 1) / 2);
+        } else {
+            long m = level - 30L;
+            return TOTAL_AT_LEVEL_30 + 112L * m + 9L * (m * (m - 1) / 2);
+        }
+    }
+}
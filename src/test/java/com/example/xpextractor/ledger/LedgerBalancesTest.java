@@ -0,0 +1,117 @@
+package com.example.xpextractor.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LedgerBalancesTest {
+    private static final UUID ALICE = new UUID(0x1111L, 0x2222L);
+    private static final UUID BOB = new UUID(0x3333L, 0x4444L);
+    private static final UUID RESERVOIR = new UUID(0L, 0x5555L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void foldsEveryWrittenRecord() throws IOException {
+        writeSegment(0, 8, new Object[][] {
+            {ALICE, LedgerEntryType.EXTRACT, 90L},
+            {ALICE, LedgerEntryType.CONDENSED_CONSUME, 30L},
+            {BOB, LedgerEntryType.BANK_DEPOSIT, 50L},
+            {ALICE, LedgerEntryType.RESERVOIR_TRANSFER, 40L},
+            {RESERVOIR, LedgerEntryType.RESERVOIR_BOTTLE, 63L},
+        });
+
+        LedgerBalances balances = LedgerBalances.load(directory, true);
+        Map<UUID, long[]> totals = balances.getTotals();
+
+        assertEquals(5L, balances.getRecords());
+        assertEquals(0, balances.getSegment());
+        assertEquals(5, balances.getRecord());
+        assertEquals(90L, totals.get(ALICE)[LedgerEntryType.EXTRACT.getId()]);
+        assertEquals(60L, LedgerBalances.balance(totals.get(ALICE)));
+        assertEquals(50L, LedgerBalances.balance(totals.get(BOB)));
+        assertEquals(-63L, LedgerBalances.balance(totals.get(RESERVOIR)));
+    }
+
+    @Test
+    void ignoresUnknownTypeIds() {
+        LedgerBalances balances = new LedgerBalances();
+        balances.apply(1L, 2L, 0L);
+        balances.apply(1L, 2L, ((long) LedgerEntryType.ID_LIMIT << 56) | 10L);
+
+        assertEquals(0L, balances.getRecords());
+        assertEquals(Map.of(), balances.getTotals());
+    }
+
+    @Test
+    void snapshotPlusNewRecordsMatchesAFullFold() throws IOException {
+        Object[][] first = {
+            {ALICE, LedgerEntryType.EXTRACT, 18L},
+            {BOB, LedgerEntryType.VACUUM, 7L},
+        };
+        writeSegment(0, 4, first);
+        LedgerBalances.load(directory, true).writeSnapshot(directory);
+
+        // The rest of segment 0 and a whole new segment land after the snapshot
+        writeSegment(0, 4, new Object[][] {
+            first[0],
+            first[1],
+            {ALICE, LedgerEntryType.BANK_WITHDRAW, 5L},
+            {BOB, LedgerEntryType.RESERVOIR_DEPOSIT, 12L},
+        });
+        writeSegment(1, 4, new Object[][] {
+            {ALICE, LedgerEntryType.RESERVOIR_WITHDRAW, 3L},
+        });
+
+        LedgerBalances fromSnapshot = LedgerBalances.load(directory, true);
+        LedgerBalances full = LedgerBalances.load(directory, false);
+
+        assertEquals(5L, fromSnapshot.getRecords());
+        assertEquals(full.getRecords(), fromSnapshot.getRecords());
+        assertEquals(1, fromSnapshot.getSegment());
+        assertEquals(1, fromSnapshot.getRecord());
+        assertEquals(full.getTotals().keySet(), fromSnapshot.getTotals().keySet());
+        for (UUID uuid : full.getTotals().keySet()) {
+            assertArrayEquals(full.getTotals().get(uuid), fromSnapshot.getTotals().get(uuid));
+        }
+        assertEquals(10L, LedgerBalances.balance(fromSnapshot.getTotals().get(ALICE)));
+        assertEquals(19L, LedgerBalances.balance(fromSnapshot.getTotals().get(BOB)));
+    }
+
+    @Test
+    void snapshotWithoutNewRecordsReadsNoSegments() throws IOException {
+        writeSegment(0, 4, new Object[][] {
+            {ALICE, LedgerEntryType.EXTRACT, 9L},
+        });
+        LedgerBalances.load(directory, true).writeSnapshot(directory);
+
+        LedgerBalances reloaded = LedgerBalances.load(directory, true);
+        assertEquals(1L, reloaded.getRecords());
+        assertEquals(9L, LedgerBalances.balance(reloaded.getTotals().get(ALICE)));
+    }
+
+    // Writes a segment cut short to `capacity` records, like one left behind by a crash
+    private void writeSegment(int index, int capacity, Object[][] entries) throws IOException {
+        ByteBuffer segment = ByteBuffer.allocate(LedgerFormat.recordOffset(capacity));
+        LedgerFormat.writeHeader(segment, index);
+        for (int i = 0; i < entries.length; i++) {
+            UUID uuid = (UUID) entries[i][0];
+            int offset = LedgerFormat.recordOffset(i);
+            segment.putLong(offset, 1_700_000_000_000L + i);
+            segment.putLong(offset + 8, uuid.getMostSignificantBits());
+            segment.putLong(offset + 16, uuid.getLeastSignificantBits());
+            segment.putLong(offset + 24, LedgerFormat.pack((LedgerEntryType) entries[i][1], (Long) entries[i][2]));
+        }
+        Files.write(LedgerFormat.segmentPath(directory, index), segment.array());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.xpextractor.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerFormatTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void packRoundTripsEveryType() {
+        for (LedgerEntryType type : LedgerEntryType.values()) {
+            long packed = LedgerFormat.pack(type, 12345L);
+            assertEquals(type.getId(), LedgerFormat.typeId(packed));
+            assertEquals(12345L, LedgerFormat.amount(packed));
+        }
+    }
+
+    @Test
+    void packClampsAmountToFiftySixBits() {
+        long packed = LedgerFormat.pack(LedgerEntryType.CONDENSED_DISPENSE, Long.MAX_VALUE);
+        assertEquals(LedgerEntryType.CONDENSED_DISPENSE.getId(), LedgerFormat.typeId(packed));
+        assertEquals(LedgerFormat.MAX_AMOUNT, LedgerFormat.amount(packed));
+
+        long exact = LedgerFormat.pack(LedgerEntryType.EXTRACT, LedgerFormat.MAX_AMOUNT);
+        assertEquals(LedgerEntryType.EXTRACT.getId(), LedgerFormat.typeId(exact));
+        assertEquals(LedgerFormat.MAX_AMOUNT, LedgerFormat.amount(exact));
+    }
+
+    @Test
+    void findEndFindsTheWrittenPrefix() {
+        int capacity = 64;
+        for (int written : new int[] {0, 1, 2, 31, 32, 63, 64}) {
+            ByteBuffer segment = ByteBuffer.allocate(LedgerFormat.recordOffset(capacity));
+            LedgerFormat.writeHeader(segment, 0);
+            for (int i = 0; i < written; i++) {
+                segment.putLong(LedgerFormat.recordOffset(i), 1_700_000_000_000L + i);
+            }
+            assertEquals(written, LedgerFormat.findEnd(segment, capacity), written + " records written");
+        }
+    }
+
+    @Test
+    void recordCapacityAllowsForTheHeaderAndTruncatedFiles() {
+        assertEquals(0, LedgerFormat.recordCapacity(0L));
+        assertEquals(0, LedgerFormat.recordCapacity(LedgerFormat.RECORD_BYTES));
+        assertEquals(1, LedgerFormat.recordCapacity(LedgerFormat.RECORD_BYTES * 2L));
+        assertEquals(1, LedgerFormat.recordCapacity(LedgerFormat.RECORD_BYTES * 3L - 1));
+        assertEquals(LedgerFormat.RECORDS_PER_SEGMENT, LedgerFormat.recordCapacity(LedgerFormat.SEGMENT_BYTES));
+        assertEquals(LedgerFormat.RECORDS_PER_SEGMENT, LedgerFormat.recordCapacity(Long.MAX_VALUE));
+    }
+
+    @Test
+    void checkHeaderAcceptsWrittenHeadersOnly() throws IOException {
+        Path path = directory.resolve("segment.xpl");
+        ByteBuffer segment = ByteBuffer.allocate(LedgerFormat.recordOffset(1));
+        assertFalse(LedgerFormat.checkHeader(segment, path));
+
+        LedgerFormat.writeHeader(segment, 3);
+        assertTrue(LedgerFormat.checkHeader(segment, path));
+
+        segment.putInt(8, LedgerFormat.VERSION + 1);
+        assertThrows(IOException.class, () -> LedgerFormat.checkHeader(segment, path));
+    }
+
+    @Test
+    void segmentIndexesAreSortedAndSkipOtherFiles() throws IOException {
+        Files.createFile(LedgerFormat.segmentPath(directory, 10));
+        Files.createFile(LedgerFormat.segmentPath(directory, 2));
+        Files.createFile(LedgerFormat.segmentPath(directory, 0));
+        Files.createFile(directory.resolve(LedgerBalances.SNAPSHOT_FILE));
+        Files.createFile(directory.resolve("segment-abc.xpl"));
+
+        assertEquals(List.of(0, 2, 10), LedgerFormat.segmentIndexes(directory));
+        assertEquals(List.of(), LedgerFormat.segmentIndexes(directory.resolve("missing")));
+    }
+}
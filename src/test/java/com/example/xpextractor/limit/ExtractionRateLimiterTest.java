@@ -0,0 +1,41 @@
+package com.example.xpextractor.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExtractionRateLimiterTest {
+    private static final long CAPACITY = 5_000L;
+
+    @Test
+    void refillsOneMilliTokenPerMillisecondPerToken() {
+        assertEquals(0L, ExtractionRateLimiter.refill(0L, 0L, 2L, CAPACITY));
+        assertEquals(2L, ExtractionRateLimiter.refill(0L, 1L, 2L, CAPACITY));
+        assertEquals(1_000L, ExtractionRateLimiter.refill(0L, 500L, 2L, CAPACITY));
+        assertEquals(1_500L, ExtractionRateLimiter.refill(500L, 1_000L, 1L, CAPACITY));
+    }
+
+    @Test
+    void refillStopsAtCapacity() {
+        assertEquals(4_998L, ExtractionRateLimiter.refill(0L, 2_499L, 2L, CAPACITY));
+        assertEquals(CAPACITY, ExtractionRateLimiter.refill(0L, 2_500L, 2L, CAPACITY));
+        assertEquals(CAPACITY, ExtractionRateLimiter.refill(0L, 2_501L, 2L, CAPACITY));
+        assertEquals(CAPACITY, ExtractionRateLimiter.refill(CAPACITY, 10_000L, 2L, CAPACITY));
+    }
+
+    @Test
+    void refillClampsTokensAboveALoweredCapacity() {
+        assertEquals(2_000L, ExtractionRateLimiter.refill(CAPACITY, 0L, 2L, 2_000L));
+    }
+
+    @Test
+    void refillIgnoresTimeGoingBackwards() {
+        assertEquals(700L, ExtractionRateLimiter.refill(700L, -1_000L, 2L, CAPACITY));
+    }
+
+    @Test
+    void refillDoesNotOverflowAfterLongIdleTimes() {
+        assertEquals(CAPACITY, ExtractionRateLimiter.refill(0L, Long.MAX_VALUE, Integer.MAX_VALUE, CAPACITY));
+        assertEquals(CAPACITY, ExtractionRateLimiter.refill(0L, 1L << 40, Integer.MAX_VALUE, CAPACITY));
+    }
+}
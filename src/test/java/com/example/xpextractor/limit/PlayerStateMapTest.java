@@ -0,0 +1,67 @@
+package com.example.xpextractor.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PlayerStateMapTest {
+    @Test
+    void keepsPlayersWhoseUuidHalvesXorAlikeApart() {
+        PlayerStateMap<String> map = new PlayerStateMap<>();
+        UUID first = new UUID(0x1234L, 0x5678L);
+        UUID second = new UUID(0x5678L, 0x1234L);
+
+        map.computeIfAbsent(first, uuid -> "first");
+        map.computeIfAbsent(second, uuid -> "second");
+
+        assertEquals("first", map.get(first));
+        assertEquals("second", map.get(second));
+    }
+
+    @Test
+    void handlesTheAllZeroUuid() {
+        PlayerStateMap<String> map = new PlayerStateMap<>();
+        UUID zero = new UUID(0L, 0L);
+
+        assertNull(map.get(zero));
+        map.computeIfAbsent(zero, uuid -> "zero");
+        assertEquals("zero", map.get(zero));
+        map.remove(zero);
+        assertNull(map.get(zero));
+    }
+
+    @Test
+    void computeIfAbsentKeepsTheExistingValue() {
+        PlayerStateMap<Object> map = new PlayerStateMap<>();
+        UUID uuid = UUID.randomUUID();
+        Object value = map.computeIfAbsent(uuid, key -> new Object());
+
+        assertSame(value, map.computeIfAbsent(uuid, key -> new Object()));
+    }
+
+    @Test
+    void growsAndRemovesWithoutLosingOtherPlayers() {
+        PlayerStateMap<Integer> map = new PlayerStateMap<>();
+        UUID[] uuids = new UUID[200];
+        for (int i = 0; i < uuids.length; i++) {
+            uuids[i] = new UUID(i, -i);
+            int value = i;
+            map.computeIfAbsent(uuids[i], uuid -> value);
+        }
+        for (int i = 0; i < uuids.length; i += 2) {
+            map.remove(uuids[i]);
+        }
+
+        for (int i = 0; i < uuids.length; i++) {
+            if (i % 2 == 0) {
+                assertNull(map.get(uuids[i]));
+            } else {
+                assertEquals(i, map.get(uuids[i]));
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.xpextractor.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+    @Test
+    void emptySnapshotIsAllZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0L, snapshot.count());
+        assertEquals(0.0, snapshot.meanNanos());
+        assertEquals(0L, snapshot.p50Nanos());
+        assertEquals(0L, snapshot.p99Nanos());
+        assertEquals(0L, snapshot.maxNanos());
+    }
+
+    @Test
+    void quantilesAreTheUpperBoundOfTheSampleBucket() {
+        long[] values = {0L, 1L, 2L, 3L, 4L, 1000L, 1023L, 1024L, 1L << 40, (1L << 40) + 1};
+        for (long value : values) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            long bound = histogram.snapshot().p50Nanos();
+
+            assertTrue(bound >= value, value + " is at most " + bound);
+            assertTrue(bound <= Math.max(0L, 2 * value - 1), value + " is overestimated by less than a factor of two: " + bound);
+            assertEquals(bound, histogram.snapshot().p99Nanos());
+        }
+    }
+
+    @Test
+    void bucketEdgesArePowersOfTwo() {
+        assertEquals(0L, single(0L));
+        assertEquals(1L, single(1L));
+        assertEquals(3L, single(2L));
+        assertEquals(3L, single(3L));
+        assertEquals(7L, single(4L));
+        assertEquals(1023L, single(512L));
+        assertEquals(2047L, single(1024L));
+    }
+
+    @Test
+    void extremeValuesLandInTheEndBuckets() {
+        assertEquals(0L, single(-5L));
+        assertEquals(Long.MAX_VALUE, single(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, single(1L << 62));
+        assertEquals((1L << 62) - 1, single((1L << 62) - 1));
+    }
+
+    @Test
+    void p99PicksTheSlowTailOnlyWhenItIsOverOnePercent() {
+        LatencyHistogram onePercent = new LatencyHistogram();
+        recordMany(onePercent, 100L, 99);
+        onePercent.record(1_000_000L);
+        LatencyHistogram.Snapshot fast = onePercent.snapshot();
+
+        assertEquals(127L, fast.p50Nanos());
+        assertEquals(127L, fast.p99Nanos());
+        assertEquals(1_000_000L, fast.maxNanos());
+
+        LatencyHistogram twoPercent = new LatencyHistogram();
+        recordMany(twoPercent, 100L, 98);
+        recordMany(twoPercent, 1_000_000L, 2);
+        LatencyHistogram.Snapshot slow = twoPercent.snapshot();
+
+        assertEquals(127L, slow.p50Nanos());
+        assertEquals((1L << 20) - 1, slow.p99Nanos());
+    }
+
+    @Test
+    void meanAndMaxAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100L);
+        histogram.record(200L);
+        histogram.record(600L);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(3L, snapshot.count());
+        assertEquals(300.0, snapshot.meanNanos());
+        assertEquals(600L, snapshot.maxNanos());
+    }
+
+    private static long single(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        return histogram.snapshot().p50Nanos();
+    }
+
+    private static void recordMany(LatencyHistogram histogram, long value, int times) {
+        for (int i = 0; i < times; i++) {
+            histogram.record(value);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.xpextractor.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XpMathTest {
+    // Levels on both sides of the 15 and 30 segment edges and of the prefix table end
+    private static final int[] EDGE_LEVELS = {1, 2, 14, 15, 16, 29, 30, 31, 255, 256, 257, 258};
+
+    @Test
+    void pointsForLevelUpMatchesVanillaAtSegmentEdges() {
+        assertEquals(7L, XpMath.pointsForLevelUp(0));
+        assertEquals(35L, XpMath.pointsForLevelUp(14));
+        assertEquals(37L, XpMath.pointsForLevelUp(15));
+        assertEquals(107L, XpMath.pointsForLevelUp(29));
+        assertEquals(112L, XpMath.pointsForLevelUp(30));
+        assertEquals(121L, XpMath.pointsForLevelUp(31));
+    }
+
+    @Test
+    void totalPointsForLevelIsTheSumOfLevelUps() {
+        long total = 0L;
+        for (int level = 0; level <= 400; level++) {
+            assertEquals(total, XpMath.totalPointsForLevel(level), "level " + level);
+            total += XpMath.pointsForLevelUp(level);
+        }
+    }
+
+    @Test
+    void totalPointsForLevelAtSegmentEdges() {
+        assertEquals(0L, XpMath.totalPointsForLevel(0));
+        assertEquals(0L, XpMath.totalPointsForLevel(-5));
+        assertEquals(315L, XpMath.totalPointsForLevel(15));
+        assertEquals(352L, XpMath.totalPointsForLevel(16));
+        assertEquals(1395L, XpMath.totalPointsForLevel(30));
+        assertEquals(1507L, XpMath.totalPointsForLevel(31));
+    }
+
+    @Test
+    void levelForPointsRoundTripsAtSegmentEdges() {
+        for (int level : EDGE_LEVELS) {
+            long total = XpMath.totalPointsForLevel(level);
+            assertEquals(level, XpMath.levelForPoints(total), "exact total of level " + level);
+            assertEquals(level - 1, XpMath.levelForPoints(total - 1), "one point below level " + level);
+            assertEquals(level, XpMath.levelForPoints(total + 1), "one point above level " + level);
+        }
+    }
+
+    @Test
+    void levelForPointsRoundTripsForEveryPointBelowLevel40() {
+        int level = 0;
+        for (long points = 0; points < XpMath.totalPointsForLevel(40); points++) {
+            if (points == XpMath.totalPointsForLevel(level + 1)) {
+                level++;
+            }
+            assertEquals(level, XpMath.levelForPoints(points), "points " + points);
+        }
+    }
+
+    @Test
+    void levelForPointsClampsNonPositiveTotals() {
+        assertEquals(0, XpMath.levelForPoints(0L));
+        assertEquals(0, XpMath.levelForPoints(-1L));
+        assertEquals(0, XpMath.levelForPoints(Long.MIN_VALUE));
+    }
+
+    @Test
+    void totalPointsForLevelIsExactUpToMaxExactLevel() {
+        long max = XpMath.totalPointsForLevel(XpMath.MAX_EXACT_LEVEL);
+        long below = XpMath.totalPointsForLevel(XpMath.MAX_EXACT_LEVEL - 1);
+
+        assertTrue(max > 0L && max < Long.MAX_VALUE);
+        assertEquals(XpMath.pointsForLevelUp(XpMath.MAX_EXACT_LEVEL - 1), max - below);
+        assertEquals(Long.MAX_VALUE, XpMath.totalPointsForLevel(XpMath.MAX_EXACT_LEVEL + 1));
+        assertEquals(Long.MAX_VALUE, XpMath.totalPointsForLevel(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void levelForPointsRoundTripsAtMaxExactLevel() {
+        long max = XpMath.totalPointsForLevel(XpMath.MAX_EXACT_LEVEL);
+        long below = XpMath.totalPointsForLevel(XpMath.MAX_EXACT_LEVEL - 1);
+
+        assertEquals(XpMath.MAX_EXACT_LEVEL, XpMath.levelForPoints(max));
+        assertEquals(XpMath.MAX_EXACT_LEVEL - 1, XpMath.levelForPoints(max - 1));
+        assertEquals(XpMath.MAX_EXACT_LEVEL - 1, XpMath.levelForPoints(below));
+        assertEquals(XpMath.MAX_EXACT_LEVEL - 2, XpMath.levelForPoints(below - 1));
+        assertEquals(XpMath.MAX_EXACT_LEVEL, XpMath.levelForPoints(Long.MAX_VALUE));
+    }
+
+    @Test
+    void progressStaysBelowOneLevel() {
+        long total = XpMath.totalPointsForLevel(31);
+        assertEquals(0.0f, XpMath.progressForPoints(total, 31));
+        assertTrue(XpMath.progressForPoints(total + XpMath.pointsForLevelUp(31) - 1, 31) < 1.0f);
+        assertTrue(XpMath.progressForPoints(Long.MAX_VALUE, 31) < 1.0f);
+    }
+
+    @Test
+    void possibleExtractionsIsLimitedByPointsAndMaximum() {
+        assertEquals(0, XpMath.possibleExtractions(XpMath.POINTS_PER_EXTRACTION - 1, 10));
+        assertEquals(1, XpMath.possibleExtractions(XpMath.POINTS_PER_EXTRACTION, 10));
+        assertEquals(3, XpMath.possibleExtractions(XpMath.POINTS_PER_EXTRACTION * 3 + 8, 10));
+        assertEquals(10, XpMath.possibleExtractions(Long.MAX_VALUE, 10));
+        assertEquals(0, XpMath.possibleExtractions(Long.MAX_VALUE, 0));
+        assertEquals(XpMath.POINTS_PER_EXTRACTION * 4L, XpMath.extractionCost(4));
+    }
+}